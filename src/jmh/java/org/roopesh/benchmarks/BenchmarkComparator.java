@@ -0,0 +1,114 @@
+package org.roopesh.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result with a baseline result and fails on regressions.
+ * <p>
+ * For every benchmark present in both results the score and the allocation per operation of the gc profiler are
+ * printed before and after. A benchmark regresses when its score gets worse, or its allocation per operation grows,
+ * by more than the tolerance.
+ * <pre>{@code java -cp <classpath> org.roopesh.benchmarks.BenchmarkComparator benchmarks/baseline.json target/jmh-result.json 0.10}</pre>
+ * Without a baseline file nothing is compared; copy a result to the baseline path to start tracking it.
+ */
+public final class BenchmarkComparator {
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    private static final double ALLOCATION_SLACK_BYTES = 16;
+    private static final Gson GSON = new Gson();
+
+    private BenchmarkComparator() {
+    }
+
+    /**
+     * Compares the results and exits with 1 if a benchmark regressed.
+     *
+     * @param args the baseline result, the current result and optionally the tolerance, 0.10 by default
+     * @throws IOException if a result cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparator <baseline.json> <result.json> [tolerance]");
+            System.exit(1);
+        }
+        Path baselinePath = Paths.get(args[0]);
+        if (!Files.exists(baselinePath)) {
+            System.out.println("No benchmark baseline at " + baselinePath + ", nothing to compare");
+            return;
+        }
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+        Map<String, Result> baseline = read(baselinePath);
+        Map<String, Result> current = read(Paths.get(args[1]));
+        int regressions = 0;
+        System.out.printf("%-70s %16s %16s %8s %12s %12s%n", "Benchmark", "Before", "After", "Change", "B/op before", "B/op after");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+            Result after = entry.getValue();
+            double change = (after.score() - before.score()) / before.score();
+            boolean slower = after.higherIsBetter() ? change < -tolerance : change > tolerance;
+            boolean allocates = after.allocation() > before.allocation() * (1 + tolerance) + ALLOCATION_SLACK_BYTES;
+            if (slower || allocates) {
+                regressions++;
+            }
+            System.out.printf("%-70s %16.3f %16.3f %+7.1f%% %12.1f %12.1f%s%n", entry.getKey(), before.score(), after.score(),
+                    change * 100, before.allocation(), after.allocation(), slower || allocates ? "  REGRESSION" : "");
+        }
+        if (regressions > 0) {
+            System.err.println(regressions + " benchmarks regressed by more than " + tolerance * 100 + "%");
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Result> read(Path path) throws IOException {
+        Map<String, Result> results = new TreeMap<>();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            for (JsonElement element : GSON.fromJson(reader, JsonElement.class).getAsJsonArray()) {
+                JsonObject benchmark = element.getAsJsonObject();
+                JsonObject primaryMetric = benchmark.getAsJsonObject("primaryMetric");
+                String mode = benchmark.get("mode").getAsString();
+                results.put(key(benchmark), new Result(primaryMetric.get("score").getAsDouble(),
+                        allocation(benchmark.getAsJsonObject("secondaryMetrics")), "thrpt".equals(mode)));
+            }
+        }
+        return results;
+    }
+
+    private static String key(JsonObject benchmark) {
+        String name = benchmark.get("benchmark").getAsString().replace("org.roopesh.benchmarks.", "");
+        if (!benchmark.has("params")) {
+            return name;
+        }
+        Map<String, String> params = new LinkedHashMap<>();
+        benchmark.getAsJsonObject("params").entrySet().forEach(param -> params.put(param.getKey(), param.getValue().getAsString()));
+        return name + params;
+    }
+
+    private static double allocation(JsonObject secondaryMetrics) {
+        if (secondaryMetrics == null) {
+            return 0;
+        }
+        for (Map.Entry<String, JsonElement> metric : secondaryMetrics.entrySet()) {
+            if (metric.getKey().replace("·", "").equals(ALLOCATION_METRIC)) {
+                return metric.getValue().getAsJsonObject().get("score").getAsDouble();
+            }
+        }
+        return 0;
+    }
+
+    private record Result(double score, double allocation, boolean higherIsBetter) {
+    }
+}
@@ -0,0 +1,19 @@
+package org.roopesh.benchmarks;
+
+import org.roopesh.BasePage;
+
+/**
+ * A page without locators, so the benchmarks only measure the page registry and the helpers of {@link BasePage}.
+ */
+public class BenchmarkPage extends BasePage {
+
+    /**
+     * Parses the price of a content description like {@link BasePage#getPriceValue(String)}.
+     *
+     * @param description the content description read from the screen
+     * @return the price value as a string, or null if no match
+     */
+    public String priceValue(String description) {
+        return getPriceValue(description);
+    }
+}
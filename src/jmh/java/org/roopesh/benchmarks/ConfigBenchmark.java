@@ -0,0 +1,41 @@
+package org.roopesh.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.roopesh.config.Config;
+import org.roopesh.config.Config.ConfigProperty;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads of the config, which every wait, step and session creation goes through.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ConfigBenchmark {
+
+    @Benchmark
+    public String getByProperty() {
+        return Config.getConfigProperty(ConfigProperty.PLATFORM);
+    }
+
+    @Benchmark
+    public String getByName() {
+        return Config.getConfigProperty("platform");
+    }
+
+    @Benchmark
+    public String getDefaultedProperty() {
+        return Config.getConfigProperty(ConfigProperty.APPIUM_LOG_FILE);
+    }
+}
@@ -0,0 +1,72 @@
+package org.roopesh.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.roopesh.helpers.json.TestData;
+import org.roopesh.helpers.json.TestDataHelper;
+import org.roopesh.helpers.locators.LocatorHelper;
+import org.roopesh.helpers.locators.LocatorInjector;
+import org.roopesh.helpers.locators.Locators;
+import org.roopesh.pages.LoginPage;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading of the page locators and test data, paid by every page object and test data instance.
+ * <p>
+ * {@code newLoginPage} only injects the lazy locators; {@code newLoginPageAndGet} also resolves one of them.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocatorBenchmark {
+    private Locators locators;
+
+    @Setup
+    public void setUp() {
+        locators = LocatorHelper.getLocators("LoginPage.yaml");
+    }
+
+    @Benchmark
+    public By loadLocatorsAndGet() {
+        return LocatorHelper.getLocators("LoginPage.yaml").get("getStarted");
+    }
+
+    @Benchmark
+    public By get() {
+        return locators.get("getStarted");
+    }
+
+    @Benchmark
+    public LoginPage newLoginPage() {
+        return newPage();
+    }
+
+    @Benchmark
+    public String newLoginPageAndGet() {
+        return newPage().getGetStarted().toString();
+    }
+
+    @Benchmark
+    public TestData loadTestData() {
+        return TestDataHelper.getJSONData("LoginData");
+    }
+
+    private static LoginPage newPage() {
+        LoginPage page = new LoginPage();
+        LocatorInjector.inject(page);
+        return page;
+    }
+}
@@ -0,0 +1,68 @@
+package org.roopesh.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import io.appium.java_client.AppiumDriver;
+import org.roopesh.appium.AppiumDriverManager;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Page lookups from parallel test threads of one test class, each with its own driver like the tests of a
+ * parallel suite. The drivers are attached to a session address that is never called, page lookups do not send
+ * commands.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class PageRegistryBenchmark {
+
+    @Benchmark
+    public BenchmarkPage getCachedPage(TestClass testClass, TestThread testThread) {
+        return testClass.framework.getPage(BenchmarkPage.class);
+    }
+
+    @Benchmark
+    public BenchmarkPage getNewPage(TestClass testClass, TestThread testThread) {
+        testClass.framework.deleteInstances(testThread.driver);
+        return testClass.framework.getPage(BenchmarkPage.class);
+    }
+
+    @State(Scope.Benchmark)
+    public static class TestClass {
+        final BenchmarkPage framework = new BenchmarkPage();
+    }
+
+    @State(Scope.Thread)
+    public static class TestThread {
+        AppiumDriver driver;
+
+        @Setup(Level.Trial)
+        public void setUp() throws MalformedURLException {
+            driver = new AppiumDriver(URI.create("http://127.0.0.1:4723/session/benchmark").toURL(), "android", "UiAutomator2");
+            AppiumDriverManager.setDriver(driver);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown(TestClass testClass) {
+            testClass.framework.deleteInstances(driver);
+            AppiumDriverManager.setDriver(null);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.roopesh.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.roopesh.BasePage;
+import utilities.dataUtility.DataUtil;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the prices read from the screen and the price arithmetic of the order tests.
+ * {@link BasePage#getPriceValue(org.openqa.selenium.By)} parses the content description like
+ * {@link BasePage#getPriceValue(String)}, only the parsing is measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PriceBenchmark {
+    private final BenchmarkPage page = new BenchmarkPage();
+    private final Double price = 2456.35;
+
+    @Benchmark
+    public String getPriceValue(Content content) {
+        return page.priceValue(content.description);
+    }
+
+    @Benchmark
+    public Double increasePriceByTwoPercent() {
+        return DataUtil.increasePriceByTwoPercent(price);
+    }
+
+    @Benchmark
+    public Double increasePrice() {
+        return DataUtil.increasePrice(price, 7);
+    }
+
+    @Benchmark
+    public Double decreasePriceByTenPercent() {
+        return DataUtil.decreasePriceByTenPercent(price);
+    }
+
+    @State(Scope.Thread)
+    public static class Content {
+        @Param({"LTP ₹2,456.35 +1.20%", "P&L -₹ 12,30,456.75"})
+        public String description;
+    }
+}
@@ -0,0 +1,63 @@
+package org.roopesh.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import utilities.reports.ExtentReportController;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Report logging from parallel test threads, each logging to its own test node.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ReportLogBenchmark {
+
+    @Benchmark
+    public void logPass(TestThread testThread) {
+        ExtentReportController.logPass("Continue Clicked");
+    }
+
+    @Benchmark
+    public void logInfo(TestThread testThread) {
+        ExtentReportController.logInfo("Mobile Number Entered");
+    }
+
+    @State(Scope.Benchmark)
+    public static class Report {
+
+        @Setup
+        public void setUp() {
+            ExtentReportController.startReport();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            ExtentReportController.flushReport();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class TestThread {
+
+        @Setup
+        public void setUp(Report report) {
+            ExtentReportController.startTest("Report log benchmark");
+        }
+    }
+}
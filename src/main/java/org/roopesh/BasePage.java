@@ -54,7 +54,7 @@ public abstract class BasePage extends BaseFramework {
 
         By locator = AppiumBy.xpath("//*[contains(@content-desc,'" + locatorText + "')]");
         WaitForElement.waitUntilElementIsPresent(locator);
-        getElement(locator).click();
+        gestures.clickElement(locator);
     }
 
     /**
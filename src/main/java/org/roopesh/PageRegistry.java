@@ -0,0 +1,88 @@
+package org.roopesh;
+
+import com.google.common.collect.MapMaker;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.openqa.selenium.WebDriver;
+import org.roopesh.customExceptions.PageElementException;
+import org.roopesh.helpers.locators.LocatorInjector;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The page objects created for each driver.
+ * <p>
+ * The drivers are weak keys compared by identity, so the pages of a driver that was never released are dropped once
+ * the driver is garbage collected; {@link org.roopesh.appium.AppiumDriverManager#destroyAppiumDriver()} releases
+ * them as soon as the session ends. Lookups do not lock, and the no-argument constructor of each page class is
+ * resolved once into a {@link MethodHandle}. The {@link org.roopesh.helpers.locators.Locator} fields of a page are
+ * injected once it is fully constructed, so the field initializers of the page cannot overwrite them.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PageRegistry {
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    private static final ConcurrentMap<WebDriver, Map<Class<?>, Object>> PAGES = new MapMaker().weakKeys().makeMap();
+    private static final ClassValue<MethodHandle> CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            try {
+                return MethodHandles.publicLookup().findConstructor(type, MethodType.methodType(void.class)).asType(CONSTRUCTOR_TYPE);
+            } catch (ReflectiveOperationException e) {
+                throw new PageElementException(e);
+            }
+        }
+    };
+
+    /**
+     * Returns the page of the given class for the driver, creating it on first use.
+     * <p>
+     * The page is created outside any lock, so a page may look up other pages while it is constructed; if two
+     * threads of the same driver race, the page created first is kept.
+     *
+     * @param page   the page class
+     * @param driver the driver the page belongs to
+     * @param <B>    the type of the page
+     * @return the page instance of the driver
+     */
+    static <B extends BasePage> B get(Class<B> page, WebDriver driver) {
+        Map<Class<?>, Object> pages = PAGES.computeIfAbsent(driver, _ -> new ConcurrentHashMap<>());
+        Object instance = pages.get(page);
+        if (instance == null) {
+            Object created = create(page);
+            instance = pages.putIfAbsent(page, created);
+            if (instance == null) {
+                instance = created;
+            }
+        }
+        return page.cast(instance);
+    }
+
+    /**
+     * Drops the pages of the driver.
+     *
+     * @param driver the driver whose session ended, ignored if null
+     */
+    public static void release(WebDriver driver) {
+        if (driver != null) {
+            PAGES.remove(driver);
+        }
+    }
+
+    private static Object create(Class<?> page) {
+        Object instance;
+        try {
+            instance = CONSTRUCTORS.get(page).invokeExact();
+        } catch (PageElementException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new PageElementException(e);
+        }
+        LocatorInjector.inject(instance);
+        return instance;
+    }
+}
@@ -0,0 +1,261 @@
+package org.roopesh.accounts;
+
+import org.roopesh.config.Config;
+import org.roopesh.config.Config.ConfigProperty;
+import org.roopesh.helpers.json.TestData;
+import org.roopesh.helpers.json.TestDataHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.SkipException;
+import utilities.otp.OTPResponse;
+import utilities.otp.OtpClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Pool of the test accounts, each leased to a single test at a time.
+ * <p>
+ * Every account has a slot holding its current {@link Lease}; a free slot is claimed with a compare-and-set, starting
+ * from a slot derived from the thread so parallel tests rarely contend for the same one. A fair {@link Semaphore}
+ * with one permit per free account queues the tests waiting for an account. A test that waits longer than
+ * {@code accountLeaseWaitSeconds} takes over a lease older than {@code accountLeaseSeconds}, or is skipped if there is
+ * none. When a lease is released the OTP limit of the account is removed before the account is handed to the next
+ * test.
+ */
+public final class AccountLeasePool {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccountLeasePool.class);
+    private static final ThreadLocal<Lease> CURRENT = new ThreadLocal<>();
+    private static final long WAIT_SLICE_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final List<TestAccount> accounts;
+    private final AtomicReferenceArray<Lease> leases;
+    private final Semaphore available;
+    private final long waitNanos;
+    private final long leaseNanos;
+    private final Consumer<TestAccount> unblocker;
+
+    AccountLeasePool(List<TestAccount> accounts, Duration waitTimeout, Duration leaseTimeout, Consumer<TestAccount> unblocker) {
+        if (accounts.isEmpty()) {
+            throw new IllegalArgumentException("The account pool has no accounts");
+        }
+        this.accounts = List.copyOf(accounts);
+        this.leases = new AtomicReferenceArray<>(accounts.size());
+        this.available = new Semaphore(accounts.size(), true);
+        this.waitNanos = waitTimeout.toNanos();
+        this.leaseNanos = leaseTimeout.toNanos();
+        this.unblocker = unblocker;
+    }
+
+    /**
+     * Returns the pool of the run, loaded from the {@code accountsFile} test data on first use.
+     *
+     * @return the shared {@link AccountLeasePool}
+     */
+    public static AccountLeasePool getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    /**
+     * Returns whether the tests lease their account from the pool.
+     *
+     * @return the {@code enableAccountLease} config
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(Config.getConfigProperty(ConfigProperty.ENABLE_ACCOUNT_LEASE));
+    }
+
+    /**
+     * Returns the account leased by the test running on the current thread.
+     *
+     * @return the leased account, or null if the thread holds no lease
+     */
+    public static TestAccount current() {
+        Lease lease = CURRENT.get();
+        return lease == null ? null : lease.account();
+    }
+
+    /**
+     * Leases an account to the test running on the current thread, waiting for one to be released if needed.
+     * A lease still held by the thread is released first.
+     *
+     * @param testName the test the account is leased to
+     * @return the lease
+     * @throws SkipException if no account is released within {@code accountLeaseWaitSeconds}
+     */
+    public Lease acquire(String testName) {
+        releaseCurrent();
+        long deadline = System.nanoTime() + waitNanos;
+        try {
+            while (true) {
+                long remaining = deadline - System.nanoTime();
+                if (available.tryAcquire(Math.max(0, Math.min(remaining, WAIT_SLICE_NANOS)), TimeUnit.NANOSECONDS)) {
+                    return bind(claimFreeSlot(testName));
+                }
+                Lease reclaimed = reclaimExpired(testName);
+                if (reclaimed != null) {
+                    return bind(reclaimed);
+                }
+                if (remaining <= 0) {
+                    throw new SkipException("Skipped due to infrastructure: no test account was released within "
+                            + TimeUnit.NANOSECONDS.toSeconds(waitNanos) + " seconds");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SkipException("Interrupted while waiting for a test account");
+        }
+    }
+
+    /**
+     * Extends the lease held by the current thread to the given test, e.g. when the test runs on the session kept
+     * from the previous test.
+     *
+     * @param testName the test the account is leased to
+     * @return true if the lease was extended, false if the thread holds no lease or it expired and was taken over
+     */
+    public boolean renewCurrent(String testName) {
+        Lease lease = CURRENT.get();
+        if (lease == null) {
+            return false;
+        }
+        Lease renewed = newLease(lease.slot(), testName);
+        if (leases.compareAndSet(lease.slot(), lease, renewed)) {
+            CURRENT.set(renewed);
+            return true;
+        }
+        CURRENT.remove();
+        LOGGER.warn("Lease of {} by {} expired and was taken over", lease.account(), lease.testName());
+        return false;
+    }
+
+    /**
+     * Releases the lease held by the current thread, if any.
+     */
+    public void releaseCurrent() {
+        Lease lease = CURRENT.get();
+        if (lease != null) {
+            CURRENT.remove();
+            release(lease);
+        }
+    }
+
+    /**
+     * Releases a lease. The OTP limit of the account is removed before the account is available again; nothing
+     * happens if the lease expired and was taken over by another test.
+     *
+     * @param lease the lease to release
+     */
+    public void release(Lease lease) {
+        if (leases.get(lease.slot()) != lease) {
+            LOGGER.warn("Lease of {} by {} expired and was taken over", lease.account(), lease.testName());
+            return;
+        }
+        try {
+            unblocker.accept(lease.account());
+        } catch (RuntimeException e) {
+            LOGGER.warn("Unable to remove the OTP limit of {}", lease.account(), e);
+        }
+        if (leases.compareAndSet(lease.slot(), lease, null)) {
+            available.release();
+            LOGGER.debug("Account {} released by {}", lease.account(), lease.testName());
+        }
+    }
+
+    /**
+     * Returns the number of accounts nobody holds.
+     *
+     * @return the number of free accounts
+     */
+    public int getAvailableCount() {
+        return available.availablePermits();
+    }
+
+    private Lease bind(Lease lease) {
+        CURRENT.set(lease);
+        LOGGER.info("Account {} leased to {}", lease.account(), lease.testName());
+        return lease;
+    }
+
+    /**
+     * Claims a free slot. The caller holds a permit, so at least one slot is free until it is claimed.
+     */
+    private Lease claimFreeSlot(String testName) {
+        int size = leases.length();
+        int start = (int) (Thread.currentThread().threadId() % size);
+        while (true) {
+            for (int i = 0; i < size; i++) {
+                int slot = (start + i) % size;
+                if (leases.get(slot) == null) {
+                    Lease lease = newLease(slot, testName);
+                    if (leases.compareAndSet(slot, null, lease)) {
+                        return lease;
+                    }
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Takes over an expired lease. The permit stays with the slot, it is released by the new holder.
+     */
+    private Lease reclaimExpired(String testName) {
+        long now = System.nanoTime();
+        for (int slot = 0; slot < leases.length(); slot++) {
+            Lease lease = leases.get(slot);
+            if (lease != null && now - lease.expiresAtNanos() >= 0) {
+                Lease reclaimed = newLease(slot, testName);
+                if (leases.compareAndSet(slot, lease, reclaimed)) {
+                    LOGGER.warn("Lease of {} by {} expired, taken over by {}", lease.account(), lease.testName(), testName);
+                    return reclaimed;
+                }
+            }
+        }
+        return null;
+    }
+
+    private Lease newLease(int slot, String testName) {
+        return new Lease(accounts.get(slot), slot, testName, System.nanoTime() + leaseNanos);
+    }
+
+    private static List<TestAccount> loadAccounts() {
+        TestData testData = TestDataHelper.getJSONData(Config.getConfigProperty(ConfigProperty.ACCOUNTS_FILE).trim());
+        List<TestAccount> accounts = new ArrayList<>();
+        for (Map.Entry<String, Map<String, String>> entry : testData.getTestData().entrySet()) {
+            accounts.add(TestAccount.of(entry.getKey(), entry.getValue()));
+        }
+        return accounts;
+    }
+
+    private static void unblockOtp(TestAccount account) {
+        OTPResponse response = OtpClient.getInstance().unblock(account.clientID()).join();
+        LOGGER.debug("OTP limit of {} removed: {}", account, response.message);
+    }
+
+    /**
+     * An account held by a test.
+     *
+     * @param account        the leased account
+     * @param slot           the slot of the account in the pool
+     * @param testName       the test holding the account
+     * @param expiresAtNanos the {@link System#nanoTime()} after which the lease may be taken over
+     */
+    public record Lease(TestAccount account, int slot, String testName, long expiresAtNanos) {
+    }
+
+    private static final class LazyHolder {
+        private static final AccountLeasePool INSTANCE = new AccountLeasePool(loadAccounts(),
+                Duration.ofSeconds(Long.parseLong(Config.getConfigProperty(ConfigProperty.ACCOUNT_LEASE_WAIT_SECONDS).trim())),
+                Duration.ofSeconds(Long.parseLong(Config.getConfigProperty(ConfigProperty.ACCOUNT_LEASE_SECONDS).trim())),
+                Boolean.parseBoolean(Config.getConfigProperty(ConfigProperty.OTP_UNBLOCK_ON_RELEASE))
+                        ? AccountLeasePool::unblockOtp : _ -> {
+                });
+    }
+}
@@ -0,0 +1,32 @@
+package org.roopesh.accounts;
+
+import java.util.Map;
+
+/**
+ * An account of the pool leased to the tests through {@link AccountLeasePool}.
+ *
+ * @param name         the key of the account in the accounts file
+ * @param clientID     the client id of the account
+ * @param mobileNumber the mobile number used to log in
+ * @param otp          the OTP accepted for the mobile number
+ * @param pin          the 4 digit pin of the account
+ */
+public record TestAccount(String name, String clientID, String mobileNumber, String otp, String pin) {
+
+    /**
+     * Builds the account from an entry of a test data file.
+     *
+     * @param name     the key of the entry
+     * @param userData the values of the entry
+     * @return the account
+     */
+    static TestAccount of(String name, Map<String, String> userData) {
+        return new TestAccount(name, userData.get("clientID"), userData.get("mobileNumber"), userData.get("otp"),
+                userData.get("pin"));
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + clientID + ")";
+    }
+}
@@ -5,13 +5,17 @@ import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.PointerInput;
 import org.openqa.selenium.interactions.Sequence;
 import org.testng.Assert;
+import utilities.metrics.FrameworkMetrics;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
 
 import static org.roopesh.appium.AppiumDriverManager.driver;
 import static utilities.reports.ExtentReportController.logFail;
 import static utilities.reports.ExtentReportController.logInfo;
+import static utilities.reports.ExtentReportController.logWarning;
 
 /**
  * Created By: Roopesh
@@ -19,13 +23,15 @@ import static utilities.reports.ExtentReportController.logInfo;
  */
 
 public class Actions extends BasePage {
+    private static final StepRetryPolicy STEP_RETRY_POLICY = StepRetryPolicy.fromConfig();
+
     /**
      * Taps on the given {@link By} locator.
      *
      * @param locator the {@link By} locator to tap on
      */
     public void tapOn(By locator) {
-        waitAndTapElement(locator);
+        retryableStep("tapOn " + locator, () -> waitAndTapElement(locator));
     }
 
 
@@ -35,7 +41,7 @@ public class Actions extends BasePage {
      * @param locator the {@link By} locator of the element to tap
      */
     public void tapIfPresent(By locator) {
-        clickIfElementPresent(locator);
+        step("tapIfPresent " + locator, () -> clickIfElementPresent(locator));
     }
 
 
@@ -44,7 +50,7 @@ public class Actions extends BasePage {
      */
     @Override
     public void hideKeyboard() {
-        super.hideKeyboard();
+        step("hideKeyboard", () -> super.hideKeyboard());
     }
 
     /**
@@ -53,7 +59,7 @@ public class Actions extends BasePage {
      * This method is a wrapper around {@link #clickIfClickable(By)}.
      */
     public void clickIfElementIsClickable(By locator) {
-        clickIfClickable(locator);
+        step("clickIfElementIsClickable " + locator, () -> clickIfClickable(locator));
     }
 
 
@@ -66,7 +72,7 @@ public class Actions extends BasePage {
      * @param locatorText the text of the locator to tap on
      */
     public void tapOn(String locatorText) {
-        waitAndClickBasedOnLocatorText(locatorText);
+        retryableStep("tapOn " + locatorText, () -> waitAndClickBasedOnLocatorText(locatorText));
     }
 
 
@@ -79,7 +85,7 @@ public class Actions extends BasePage {
      * @param locator the {@link By} locator of the element to tap
      */
     public void tapRightSideOfTheButton(By locator) {
-        waitAndClickRightButton(locator);
+        step("tapRightSideOfTheButton " + locator, () -> waitAndClickRightButton(locator));
     }
 
 
@@ -92,7 +98,7 @@ public class Actions extends BasePage {
      * @param locatorText the text of the locator to identify the row
      */
     public void tapRightButton(String locatorText) {
-        clickRightElementOfRow(locatorText);
+        step("tapRightButton " + locatorText, () -> clickRightElementOfRow(locatorText));
     }
 
     /**
@@ -104,7 +110,7 @@ public class Actions extends BasePage {
      * @param locatorText the text of the locator to identify the row
      */
     public void tapRightButtonByText(String locatorText) {
-        clickRightElementByText(locatorText);
+        step("tapRightButtonByText " + locatorText, () -> clickRightElementByText(locatorText));
     }
 
     /**
@@ -116,7 +122,7 @@ public class Actions extends BasePage {
      * @param locatorText the text of the locator to identify the row
      */
     public void tapChildButtonByText(String locatorText) {
-        clickChildElementByText(locatorText);
+        step("tapChildButtonByText " + locatorText, () -> clickChildElementByText(locatorText));
     }
 
     /**
@@ -128,7 +134,7 @@ public class Actions extends BasePage {
      * @param locatorText the text of the locator to identify the row
      */
     public void tapOnChildButton(String locatorText) {
-        clickChildElementOfRow(locatorText);
+        step("tapOnChildButton " + locatorText, () -> clickChildElementOfRow(locatorText));
     }
 
     /**
@@ -140,7 +146,7 @@ public class Actions extends BasePage {
      * @param locator the {@link By} locator of the element to tap
      */
     public void tapLeftSideOfTheButton(By locator) {
-        waitAndClickLeftButton(locator);
+        step("tapLeftSideOfTheButton " + locator, () -> waitAndClickLeftButton(locator));
     }
 
     /**
@@ -152,7 +158,7 @@ public class Actions extends BasePage {
      * @param locatorText the text of the locator to identify the button
      */
     public void tapLeftButton(String locatorText) {
-        clickLeftElementOfRow(locatorText);
+        step("tapLeftButton " + locatorText, () -> clickLeftElementOfRow(locatorText));
     }
 
 
@@ -167,9 +173,30 @@ public class Actions extends BasePage {
      * @param value   the value to enter into the text field
      */
     public void sendValues(By locator, String value) {
-        waitAndTapElement(locator);
-        waitAndSendKey(locator, value);
-        hideKeyboard();
+        step("sendValues " + locator, () -> {
+            waitAndTapElement(locator);
+            waitAndSendKey(locator, value);
+            super.hideKeyboard();
+        });
+    }
+
+    /**
+     * Enters the value produced by a background call, e.g. an OTP requested through
+     * {@link utilities.otp.OtpClient}, into the text field specified by the given locator.
+     * <p>
+     * The call overlaps the steps performed before this one; it is only joined here, once the text field is
+     * reached.
+     *
+     * @param locator the {@link By} locator of the text field
+     * @param value   the pending value to enter into the text field
+     */
+    public void sendValues(By locator, CompletionStage<String> value) {
+        step("sendValues " + locator, () -> {
+            String resolved = value.toCompletableFuture().join();
+            waitAndTapElement(locator);
+            waitAndSendKey(locator, resolved);
+            super.hideKeyboard();
+        });
     }
 
     /**
@@ -180,7 +207,7 @@ public class Actions extends BasePage {
      * @param locator the {@link By} locator of the element to scroll down to
      */
     public void scrollDownTo(By locator) {
-        scrollDownTillElementIsPresent(locator);
+        step("scrollDownTo " + locator, () -> scrollDownTillElementIsPresent(locator));
     }
 
     /**
@@ -191,7 +218,7 @@ public class Actions extends BasePage {
      * @param locatorText the text of the element to scroll down to
      */
     public void scrollDownTo(String locatorText) {
-        scrollDownTillElementIsPresent(locatorText);
+        step("scrollDownTo " + locatorText, () -> scrollDownTillElementIsPresent(locatorText));
     }
 
     /**
@@ -200,7 +227,7 @@ public class Actions extends BasePage {
      * This method performs a single back navigation action, typically used to go back to the previous state in the application.
      */
     public void navigateBack() {
-        navigateBackOnce();
+        step("navigateBack", () -> navigateBackOnce());
     }
 
     /**
@@ -217,14 +244,16 @@ public class Actions extends BasePage {
      * @param forLocator the {@link By} locator of the element to wait for
      */
     public void swipeRight(By element, By forLocator) {
-        long startTime = System.currentTimeMillis();
-        long timeoutInMillis = 20000;
-        while (!isElementPresent(forLocator)) {
-            if (System.currentTimeMillis() - startTime > timeoutInMillis) {
-                throw new TimeoutException("Element not found within 5 seconds.");
+        step("swipeRight " + element + " for " + forLocator, () -> {
+            long startTime = System.currentTimeMillis();
+            long timeoutInMillis = 20000;
+            while (!isElementPresent(forLocator)) {
+                if (System.currentTimeMillis() - startTime > timeoutInMillis) {
+                    throw new TimeoutException("Element not found within 5 seconds.");
+                }
+                waitAndSwipeLeftToRight(element);
             }
-            waitAndSwipeLeftToRight(element);
-        }
+        });
     }
 
     /**
@@ -237,7 +266,7 @@ public class Actions extends BasePage {
      * @param locator the {@link By} locator of the element to navigate back to
      */
     public void navigateBackTo(By locator) {
-        navigateBackTillElementIsPresent(locator);
+        step("navigateBackTo " + locator, () -> navigateBackTillElementIsPresent(locator));
     }
 
     /**
@@ -250,7 +279,7 @@ public class Actions extends BasePage {
      * @param locatorText the text of the element to navigate back to
      */
     public void navigateBackTo(String locatorText) {
-        navigateBackTillElementIsPresent(locatorText);
+        step("navigateBackTo " + locatorText, () -> navigateBackTillElementIsPresent(locatorText));
     }
 
     /**
@@ -262,7 +291,7 @@ public class Actions extends BasePage {
      * @param stockName the name of the stock to wait for
      */
     public void validateLTPUpdate(String stockName) {
-        waitAndCheckForStockPriceUpdate(stockName);
+        step("validateLTPUpdate " + stockName, () -> waitAndCheckForStockPriceUpdate(stockName));
     }
 
     /**
@@ -277,7 +306,7 @@ public class Actions extends BasePage {
      * @param locatorText the text of the element to swipe left on
      */
     public void swipeLeft(String locatorText) {
-        swipeSpecificElementRightToLeft(locatorText);
+        step("swipeLeft " + locatorText, () -> swipeSpecificElementRightToLeft(locatorText));
     }
 
     /**
@@ -289,7 +318,7 @@ public class Actions extends BasePage {
      * @param locatorText the text of the element to swipe right on
      */
     public void swipeRight(String locatorText) {
-        swipeSpecificElementLeftToRight(locatorText);
+        step("swipeRight " + locatorText, () -> swipeSpecificElementLeftToRight(locatorText));
     }
 
     /**
@@ -303,7 +332,7 @@ public class Actions extends BasePage {
      * @param swipeCount the number of times to swipe the element
      */
     public void swipeRight(By locator, int swipeCount) {
-        manualSwipeRight(locator, swipeCount);
+        step("swipeRight " + locator + " " + swipeCount, () -> manualSwipeRight(locator, swipeCount));
     }
 
     /**
@@ -318,7 +347,7 @@ public class Actions extends BasePage {
      * @param locator the By locator of the element to swipe right on
      */
     public void swipeRight(By locator) {
-        waitAndSwipeLeftToRight(locator);
+        step("swipeRight " + locator, () -> waitAndSwipeLeftToRight(locator));
     }
 
 
@@ -341,42 +370,44 @@ public class Actions extends BasePage {
      * @param locator      the By locator of the element to find
      */
     public void swipeRightFor(By firstElement, By locator) {
-        boolean flag;
-        try {
-            WebElement ele = getElement(firstElement);
-            PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
-            Rectangle bounds = ele.getRect();
-            Dimension screenSize = driver().manage().window().getSize();
-            int screenWidth = screenSize.width;
-
-            int x = (int) (screenWidth * 0.2);
-            int y = bounds.getY() + (bounds.getHeight() / 2);
-            int endx = (int) (screenWidth * 0.9);
-
-            // Initial check for the element
-            flag = isElementPresent(locator);
-            if (flag) {
-                return;
-            }
-            int swipeTimes = 10;
-            for (int i = 0; i < swipeTimes && !flag; i++) {
-
-                Sequence swipe = new Sequence(finger, 1);
-                swipe.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), endx, y));
-                swipe.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
-                swipe.addAction(finger.createPointerMove(Duration.ofMillis(2000), PointerInput.Origin.viewport(), x, y));
-                swipe.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
-                driver().perform(List.of(swipe));
+        step("swipeRightFor " + firstElement + " for " + locator, () -> {
+            boolean flag;
+            try {
+                WebElement ele = getElement(firstElement);
+                PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
+                Rectangle bounds = ele.getRect();
+                Dimension screenSize = driver().manage().window().getSize();
+                int screenWidth = screenSize.width;
+
+                int x = (int) (screenWidth * 0.2);
+                int y = bounds.getY() + (bounds.getHeight() / 2);
+                int endx = (int) (screenWidth * 0.9);
+
+                // Initial check for the element
                 flag = isElementPresent(locator);
+                if (flag) {
+                    return;
+                }
+                int swipeTimes = 10;
+                for (int i = 0; i < swipeTimes && !flag; i++) {
+
+                    Sequence swipe = new Sequence(finger, 1);
+                    swipe.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), endx, y));
+                    swipe.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+                    swipe.addAction(finger.createPointerMove(Duration.ofMillis(2000), PointerInput.Origin.viewport(), x, y));
+                    swipe.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+                    driver().perform(List.of(swipe));
+                    flag = isElementPresent(locator);
+                }
+
+                if (!flag) {
+                    logInfo("Element not found: swipeForTrendingOptions");
+                    Assert.fail("Element not found: swipeForTrendingOptions");
+                }
+            } catch (Exception e) {
+                logFail("Exception in swipeRightFor method: " + e);
             }
-
-            if (!flag) {
-                logInfo("Element not found: swipeForTrendingOptions");
-                Assert.fail("Element not found: swipeForTrendingOptions");
-            }
-        } catch (Exception e) {
-            logFail("Exception in swipeRightFor method: " + e);
-        }
+        });
     }
 
     /**
@@ -392,7 +423,7 @@ public class Actions extends BasePage {
      * @return the text content of the element
      */
     public String verifyContent(By locator) {
-        return waitAndGetContent(locator);
+        return retryableStep("verifyContent " + locator, () -> waitAndGetContent(locator));
     }
 
     /**
@@ -409,7 +440,7 @@ public class Actions extends BasePage {
      * @return the text content of the element
      */
     public String verifyContent(String locatorText) {
-        return getElementContentByValue(locatorText);
+        return retryableStep("verifyContent " + locatorText, () -> getElementContentByValue(locatorText));
     }
 
     /**
@@ -424,7 +455,7 @@ public class Actions extends BasePage {
      * @return true if the element is present, false otherwise
      */
     public boolean isTrue(By locator) {
-        return isElementPresent(locator);
+        return retryableStep("isTrue " + locator, () -> isElementPresent(locator));
     }
 
     /**
@@ -437,7 +468,7 @@ public class Actions extends BasePage {
      * @return the text content of the element
      */
     public String getText(By locator) {
-        return getElementText(locator);
+        return retryableStep("getText " + locator, () -> getElementText(locator));
     }
 
     /**
@@ -453,7 +484,7 @@ public class Actions extends BasePage {
      * @return true if the element is present and visible, false otherwise
      */
     public boolean isTrue(String locatorText) {
-        return isElementPresent(locatorText);
+        return retryableStep("isTrue " + locatorText, () -> isElementPresent(locatorText));
     }
 
     /**
@@ -466,7 +497,7 @@ public class Actions extends BasePage {
      * @return true if the element is enabled, otherwise false
      */
     public boolean isEnabled(By locator) {
-        return getElement(locator).isEnabled();
+        return retryableStep("isEnabled " + locator, () -> getElement(locator).isEnabled());
     }
 
     /**
@@ -477,7 +508,7 @@ public class Actions extends BasePage {
      * @param locator the By locator of the element to double tap.
      */
     public void doubleTap(By locator) {
-        doubleClick(locator);
+        step("doubleTap " + locator, () -> doubleClick(locator));
     }
 
     /**
@@ -489,7 +520,7 @@ public class Actions extends BasePage {
      * @param locatorText the text used to identify the element to double tap.
      */
     public void doubleTap(String locatorText) {
-        doubleClick(locatorText);
+        step("doubleTap " + locatorText, () -> doubleClick(locatorText));
     }
 
     /**
@@ -502,7 +533,7 @@ public class Actions extends BasePage {
      */
     @Override
     public void longPressElement(String locatorText) {
-        super.longPressElement(locatorText);
+        step("longPressElement " + locatorText, () -> super.longPressElement(locatorText));
     }
 
     /**
@@ -515,7 +546,7 @@ public class Actions extends BasePage {
      */
     @Override
     public void longPressElement(By locator) {
-        super.longPressElement(locator);
+        step("longPressElement " + locator, () -> super.longPressElement(locator));
     }
 
     /**
@@ -526,7 +557,7 @@ public class Actions extends BasePage {
      * @return list of elements that match the given locator
      */
     public List<WebElement> getValues(By values) {
-        return getElements(values);
+        return step("getValues " + values, () -> getElements(values));
     }
 
     /**
@@ -542,7 +573,7 @@ public class Actions extends BasePage {
      * @return list of values as a String array
      */
     public String[] getValuesList(By list) {
-        return waitAndGetContent(list).split("\n");
+        return step("getValuesList " + list, () -> waitAndGetContent(list).split("\n"));
     }
 
     /**
@@ -558,7 +589,7 @@ public class Actions extends BasePage {
      * @return list of values as a String array
      */
     public String[] getValuesList(String list) {
-        return getElementContentByValue(list).split("\n");
+        return step("getValuesList " + list, () -> getElementContentByValue(list).split("\n"));
     }
 
 
@@ -572,8 +603,84 @@ public class Actions extends BasePage {
      * @return true if the checkbox is checked, otherwise false
      */
     public boolean isChecked(By locator) {
-        return checkboxValidator(locator);
+        return retryableStep("isChecked " + locator, () -> checkboxValidator(locator));
     }
 
+    /**
+     * Runs the given step and records its frame in the {@link StepFrameRecorder}, whether it passes or fails.
+     *
+     * @param stepName the name of the step shown in the step history of the report
+     * @param action   the step to run
+     */
+    protected void step(String stepName, Runnable action) {
+        step(stepName, () -> {
+            action.run();
+            return null;
+        });
+    }
 
-}
\ No newline at end of file
+    /**
+     * Runs the given step and records its frame in the {@link StepFrameRecorder}, whether it passes or fails.
+     *
+     * @param stepName the name of the step shown in the step history of the report
+     * @param action   the step to run
+     * @param <T>      the type of the step result
+     * @return the result of the step
+     */
+    protected <T> T step(String stepName, Supplier<T> action) {
+        String actionName = stepName.split(" ", 2)[0];
+        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        try {
+            T result = action.get();
+            FrameworkMetrics.actionPerformed(actionName, startNanos, true);
+            StepFrameRecorder.record(stepName, System.currentTimeMillis() - startTime, null);
+            return result;
+        } catch (RuntimeException | AssertionError e) {
+            FrameworkMetrics.actionPerformed(actionName, startNanos, false);
+            StepFrameRecorder.record(stepName, System.currentTimeMillis() - startTime, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Runs the given idempotent step, retrying it in place when it fails on one of the transient driver errors of
+     * {@code stepRetryExceptions}. Every retry is logged as a warning on the report of the test.
+     *
+     * @param stepName the name of the step shown in the step history of the report
+     * @param action   the step to run, must be safe to repeat
+     */
+    protected void retryableStep(String stepName, Runnable action) {
+        retryableStep(stepName, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the given idempotent step, retrying it in place when it fails on one of the transient driver errors of
+     * {@code stepRetryExceptions}. Every retry is logged as a warning on the report of the test.
+     *
+     * @param stepName the name of the step shown in the step history of the report
+     * @param action   the step to run, must be safe to repeat
+     * @param <T>      the type of the step result
+     * @return the result of the step
+     */
+    protected <T> T retryableStep(String stepName, Supplier<T> action) {
+        return step(stepName, () -> {
+            for (int retries = 0; ; retries++) {
+                try {
+                    return action.get();
+                } catch (RuntimeException e) {
+                    if (!STEP_RETRY_POLICY.shouldRetry(e, retries)) {
+                        throw e;
+                    }
+                    logWarning("Retrying step " + stepName + " after " + e.getClass().getSimpleName() + " ("
+                            + (retries + 1) + "/" + STEP_RETRY_POLICY.getMaxRetries() + ")");
+                    FrameworkMetrics.stepRetried(stepName.split(" ", 2)[0]);
+                    STEP_RETRY_POLICY.pause();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,90 @@
+package org.roopesh.actions;
+
+import org.openqa.selenium.Point;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+
+/**
+ * Strategy used by {@link Gestures} to perform touch gestures on the device.
+ * <p>
+ * Two implementations are available:
+ * <ul>
+ * <li>{@link W3CGestureBackend} - builds the W3C action {@code Sequence} on the client and sends it through
+ * {@code driver().perform}. Works for every platform but needs the element bounds for each gesture.</li>
+ * <li>{@link MobileCommandGestureBackend} - sends a single UiAutomator2 {@code mobile:} command with the element id,
+ * the coordinate math is done on the server.</li>
+ * </ul>
+ * The backend is selected per platform with the {@code androidGestureBackend} and {@code iosGestureBackend}
+ * config properties, see {@link #forName(String, String)}.
+ */
+public interface GestureBackend {
+
+    /**
+     * Taps on the center of the given element.
+     *
+     * @param element the element to tap
+     */
+    void click(WebElement element);
+
+    /**
+     * Long presses on the center of the given element.
+     *
+     * @param element  the element to long press
+     * @param duration how long the finger is held down
+     */
+    void longPress(WebElement element, Duration duration);
+
+    /**
+     * Double taps on the center of the given element.
+     *
+     * @param element the element to double tap
+     */
+    void doubleClick(WebElement element);
+
+    /**
+     * Swipes horizontally across the given element.
+     *
+     * @param element     the element to swipe
+     * @param leftToRight whether to swipe left to right (true) or right to left (false)
+     */
+    void swipe(WebElement element, boolean leftToRight);
+
+    /**
+     * Swipes vertically across the middle of the screen.
+     *
+     * @param startY the starting position of the swipe as a fraction of the screen height
+     * @param endY   the ending position of the swipe as a fraction of the screen height
+     */
+    void swipeScreen(double startY, double endY);
+
+    /**
+     * Drags the given element and drops it on the given screen coordinates.
+     *
+     * @param element the element to drag
+     * @param target  the point on the screen where the element is dropped
+     */
+    void dragTo(WebElement element, Point target);
+
+    /**
+     * Resolves the backend for the given config value.
+     * <p>
+     * {@code mobile} returns the {@link MobileCommandGestureBackend}, any other value falls back to the
+     * {@link W3CGestureBackend}. The {@code mobile:} gesture commands only exist in UiAutomator2, so {@code mobile}
+     * is rejected for any platform other than android.
+     *
+     * @param name     the backend name configured for the platform
+     * @param platform the platform of the run
+     * @return the matching {@link GestureBackend}
+     * @throws IllegalArgumentException if {@code mobile} is configured for a platform other than android
+     */
+    static GestureBackend forName(String name, String platform) {
+        if ("mobile".equalsIgnoreCase(name == null ? null : name.trim())) {
+            if (!"android".equalsIgnoreCase(platform == null ? null : platform.trim())) {
+                throw new IllegalArgumentException("The mobile gesture backend needs UiAutomator2 and is not supported on " + platform);
+            }
+            return new MobileCommandGestureBackend();
+        }
+        return new W3CGestureBackend();
+    }
+}
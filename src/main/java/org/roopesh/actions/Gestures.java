@@ -4,12 +4,17 @@ import io.appium.java_client.android.AndroidDriver;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.roopesh.appium.AppiumDriverManager;
+import org.roopesh.appium.DriverCommandRecorder;
+import org.roopesh.config.Config;
+import org.roopesh.config.Config.ConfigProperty;
+import org.roopesh.helpers.locators.Locators;
 import org.openqa.selenium.*;
-import org.openqa.selenium.interactions.Pause;
 import org.openqa.selenium.interactions.PointerInput;
 import org.openqa.selenium.interactions.PointerInput.Kind;
 import org.openqa.selenium.interactions.PointerInput.Origin;
 import org.openqa.selenium.interactions.Sequence;
+import utilities.jfr.FrameworkEvents;
+import utilities.jfr.GestureEvent;
 
 import java.time.Duration;
 import java.util.List;
@@ -18,11 +23,12 @@ import static java.time.Duration.ofMillis;
 import static org.roopesh.appium.AppiumDriverManager.driver;
 
 public class Gestures {
+    private static volatile Gestures instance;
+    private static volatile GestureBackend backend;
+    private static Rectangle bounds;
     public static Dimension screenSize;
     public static int screenHeight;
     public static int screenWidth;
-    private static volatile Gestures instance;
-    private static Rectangle bounds;
     private final Logger log = LogManager.getLogger(Gestures.class);
 
     public static Gestures getGestureInstance() {
@@ -37,6 +43,43 @@ public class Gestures {
     }
 
 
+    /**
+     * Returns the {@link GestureBackend} configured for the current platform.
+     * <p>
+     * The backend is read from the {@code androidGestureBackend} or {@code iosGestureBackend} config property
+     * once and reused for the rest of the run.
+     *
+     * @return the {@link GestureBackend} used to perform the gestures
+     */
+    public static GestureBackend backend() {
+        if (backend == null) {
+            synchronized (Gestures.class) {
+                if (backend == null) {
+                    String platform = Config.getConfigProperty(ConfigProperty.PLATFORM);
+                    ConfigProperty backendProperty = "ios".equalsIgnoreCase(platform)
+                            ? ConfigProperty.IOS_GESTURE_BACKEND
+                            : ConfigProperty.ANDROID_GESTURE_BACKEND;
+                    backend = GestureBackend.forName(Config.getConfigProperty(backendProperty), platform);
+                }
+            }
+        }
+        return backend;
+    }
+
+    /**
+     * Reads the window size of the current session and keeps it in {@link #screenSize}, {@link #screenHeight} and
+     * {@link #screenWidth}.
+     *
+     * @return the window size
+     */
+    static Dimension screenSize() {
+        Dimension size = driver().manage().window().getSize();
+        screenSize = size;
+        screenHeight = size.height;
+        screenWidth = size.width;
+        return size;
+    }
+
     /**
      * Swipes a given element left or right.
      *
@@ -48,30 +91,7 @@ public class Gestures {
         if (AppiumDriverManager.driver() == null || element == null) {
             throw new IllegalArgumentException("AppiumDriver and WebElement cannot be null");
         }
-
-        int elementWidth = element.getSize().width;
-        int elementHeight = element.getSize().height;
-        int elementY = element.getLocation().getY();
-
-        int startX, endX;
-        if (leftToRight) {
-            startX = (int) (elementWidth * 0.1);
-            endX = (int) (elementWidth * 0.9);
-        } else {
-            startX = (int) (elementWidth * 0.9);
-            endX = (int) (elementWidth * 0.1);
-        }
-        int startY = elementY + (elementHeight / 2);
-
-        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
-        Sequence swipe = new Sequence(finger, 1);
-
-        swipe.addAction(finger.createPointerMove(ofMillis(0), PointerInput.Origin.viewport(), startX, startY))
-                .addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()))
-                .addAction(finger.createPointerMove(ofMillis(500), PointerInput.Origin.viewport(), endX, startY))
-                .addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
-
-        driver().perform(List.of(swipe));
+        gesture("swipe", element, () -> backend().swipe(element, leftToRight));
     }
 
     /**
@@ -92,8 +112,7 @@ public class Gestures {
      * @param locator the {@link By} locator to click on
      */
     public void clickElement(By locator) {
-        AppiumDriverManager.driver().findElement(locator).click();
-
+        gesture("click", Locators.keyOf(locator), () -> backend().click(AppiumDriverManager.driver().findElement(locator)));
     }
 
     /**
@@ -114,7 +133,7 @@ public class Gestures {
         clickElement.addAction(finger.createPointerMove(ofMillis(0), Origin.viewport(), X, Y))
                 .addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()))
                 .addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
-        driver().perform(List.of(clickElement));
+        gesture("tapRight", element, () -> driver().perform(List.of(clickElement)));
 
     }
 
@@ -136,7 +155,7 @@ public class Gestures {
         clickElement.addAction(finger.createPointerMove(ofMillis(0), Origin.viewport(), X, Y))
                 .addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()))
                 .addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
-        driver().perform(List.of(clickElement));
+        gesture("tapLeft", element, () -> driver().perform(List.of(clickElement)));
 
     }
 
@@ -151,22 +170,9 @@ public class Gestures {
      */
     public void longPress(WebElement element) {
         try {
-
-            bounds = element.getRect();
-
-            bounds = element.getRect();
-            int X = bounds.getX() + (bounds.getWidth() / 2);
-            int Y = (bounds.getY() + (bounds.getHeight() / 2));
-            System.out.println(element + " Bounds :" + X + " " + Y);
-            PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
-            Sequence longPress = new Sequence(finger, 1);
-            longPress.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), X, Y));
-            longPress.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
-            longPress.addAction(new Pause(finger, Duration.ofSeconds(5)));
-            longPress.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
-            driver().perform(List.of(longPress));
+            gesture("longPress", element, () -> backend().longPress(element, Duration.ofSeconds(5)));
         } catch (NoSuchElementException e) {
-            log.error(this.getClass().getName(), "findElement", "Element not found" + element);
+            log.error("Element not found {}", element);
             throw e;
         }
 
@@ -183,21 +189,7 @@ public class Gestures {
      * @param endY the ending position of the swipe as a fraction of the screen height
      */
     public void swipeBottomToTop(double startY, double endY) {
-        screenSize = driver().manage().window().getSize();
-        screenHeight = screenSize.height;
-        screenWidth = screenSize.width;
-
-        int startx = screenWidth / 2;
-        int starty = (int) (screenHeight * startY);
-        int endy = (int) (screenHeight * endY);
-
-        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
-        Sequence scrollDown = new Sequence(finger, 1);
-        scrollDown.addAction(finger.createPointerMove(ofMillis(0), PointerInput.Origin.viewport(), startx, starty))
-                .addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()))
-                .addAction(finger.createPointerMove(ofMillis(3000), PointerInput.Origin.viewport(), startx, endy))
-                .addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
-        driver().perform(List.of(scrollDown));
+        gesture("swipeScreen", (String) null, () -> backend().swipeScreen(startY, endY));
     }
 
     /**
@@ -210,21 +202,17 @@ public class Gestures {
      * @throws NoSuchElementException if the element is not found
      */
     public void doubleClick(WebElement element) {
-        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
-
-        Rectangle bounds = element.getRect();
-        int X = bounds.getX() + (bounds.getWidth() / 2);
-        int Y = (bounds.getY() + (bounds.getHeight() / 2));
-
-        Sequence doubleClick = new Sequence(finger, 1);
+        gesture("doubleClick", element, () -> backend().doubleClick(element));
+    }
 
-        doubleClick.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), X, Y));
-        doubleClick.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
-        doubleClick.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
-        doubleClick.addAction(new Pause(finger, Duration.ofMillis(100)));
-        doubleClick.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
-        doubleClick.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
-        driver().perform(List.of(doubleClick));
+    /**
+     * Drags the given element and drops it on the given screen coordinates.
+     *
+     * @param element the element to drag
+     * @param target the point on the screen where the element is dropped
+     */
+    public void dragElement(WebElement element, Point target) {
+        gesture("drag", element, () -> backend().dragTo(element, target));
     }
 
     /**
@@ -280,7 +268,7 @@ public class Gestures {
                 swipe.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
                 swipe.addAction(finger.createPointerMove(Duration.ofMillis(3000), PointerInput.Origin.viewport(), x, y));
                 swipe.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
-                driver().perform(List.of(swipe));
+                gesture("customSwipeRight", element, () -> driver().perform(List.of(swipe)));
 
             }
         } catch (Exception e) {
@@ -288,4 +276,29 @@ public class Gestures {
         }
     }
 
-}
\ No newline at end of file
+    private static void gesture(String gesture, WebElement element, Runnable action) {
+        gesture(gesture, DriverCommandRecorder.locatorKeyOf(element), action);
+    }
+
+    /**
+     * Performs the gesture and records it as a {@link GestureEvent}.
+     *
+     * @param gesture    the name of the gesture
+     * @param locatorKey the locator key of the target element, or null for screen gestures
+     * @param action     performs the gesture
+     */
+    private static void gesture(String gesture, String locatorKey, Runnable action) {
+        GestureEvent event = new GestureEvent();
+        event.begin();
+        try {
+            action.run();
+            event.success = true;
+        } finally {
+            event.gesture = gesture;
+            event.locatorKey = locatorKey;
+            event.testName = FrameworkEvents.testName();
+            event.commit();
+        }
+    }
+
+}
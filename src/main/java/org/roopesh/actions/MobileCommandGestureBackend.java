@@ -0,0 +1,86 @@
+package org.roopesh.actions;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebElement;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.roopesh.appium.AppiumDriverManager.driver;
+
+/**
+ * {@link GestureBackend} that uses the UiAutomator2 server side gesture commands.
+ * <p>
+ * Every gesture is a single {@code mobile:} command that takes the element id, so no {@code getRect} call
+ * and no client side coordinate math is needed:
+ * <ul>
+ * <li>{@code mobile: clickGesture}</li>
+ * <li>{@code mobile: longClickGesture}</li>
+ * <li>{@code mobile: doubleClickGesture}</li>
+ * <li>{@code mobile: swipeGesture}</li>
+ * <li>{@code mobile: dragGesture}</li>
+ * </ul>
+ * <b>Note:</b> These commands are only available with the UiAutomator2 driver.
+ */
+public class MobileCommandGestureBackend implements GestureBackend {
+    private static final String ELEMENT_ID = "elementId";
+
+    /**
+     * Returns the id of the given element which is passed to the {@code mobile:} commands.
+     *
+     * @param element the element
+     * @return the element id
+     */
+    private static String elementId(WebElement element) {
+        return ((RemoteWebElement) element).getId();
+    }
+
+    @Override
+    public void click(WebElement element) {
+        driver().executeScript("mobile: clickGesture", Map.of(ELEMENT_ID, elementId(element)));
+    }
+
+    @Override
+    public void longPress(WebElement element, Duration duration) {
+        driver().executeScript("mobile: longClickGesture", Map.of(
+                ELEMENT_ID, elementId(element),
+                "duration", duration.toMillis()));
+    }
+
+    @Override
+    public void doubleClick(WebElement element) {
+        driver().executeScript("mobile: doubleClickGesture", Map.of(ELEMENT_ID, elementId(element)));
+    }
+
+    @Override
+    public void swipe(WebElement element, boolean leftToRight) {
+        driver().executeScript("mobile: swipeGesture", Map.of(
+                ELEMENT_ID, elementId(element),
+                "direction", leftToRight ? "right" : "left",
+                "percent", 0.8));
+    }
+
+    @Override
+    public void swipeScreen(double startY, double endY) {
+        Dimension screenSize = Gestures.screenSize();
+        int top = (int) (screenSize.height * Math.min(startY, endY));
+        int height = (int) (screenSize.height * Math.abs(startY - endY));
+        driver().executeScript("mobile: swipeGesture", Map.of(
+                "left", 0,
+                "top", top,
+                "width", screenSize.width,
+                "height", Math.max(height, 1),
+                "direction", startY > endY ? "up" : "down",
+                "percent", 1.0));
+    }
+
+    @Override
+    public void dragTo(WebElement element, Point target) {
+        driver().executeScript("mobile: dragGesture", Map.of(
+                ELEMENT_ID, elementId(element),
+                "endX", target.getX(),
+                "endY", target.getY()));
+    }
+}
@@ -0,0 +1,178 @@
+package org.roopesh.actions;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.WebDriverException;
+import org.roopesh.config.Config;
+import org.roopesh.config.Config.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utilities.metrics.FrameworkMetrics;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static org.roopesh.appium.AppiumDriverManager.driver;
+
+/**
+ * Keeps the last {@code stepFrameCount} steps performed through {@link Actions} for the session of the current
+ * thread.
+ * <p>
+ * Depending on {@code stepFrameMode} each {@link StepFrame} holds the deflated page source and/or the screenshot
+ * taken right after the step, downscaled to {@code stepFrameScreenshotWidth}. Nothing is written to the disk while
+ * the test runs; the frames are only persisted by the report when the test fails, and are dropped when the driver
+ * is destroyed. Capturing costs driver round trips on every step, so the mode is {@code none} by default.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class StepFrameRecorder {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StepFrameRecorder.class);
+    private static final int CAPACITY = Integer.parseInt(Config.getConfigProperty(ConfigProperty.STEP_FRAME_COUNT).trim());
+    private static final Mode MODE = Mode.valueOf(Config.getConfigProperty(ConfigProperty.STEP_FRAME_MODE).trim().toUpperCase());
+    private static final int SCREENSHOT_WIDTH = Integer.parseInt(Config.getConfigProperty(ConfigProperty.STEP_FRAME_SCREENSHOT_WIDTH).trim());
+    private static final ThreadLocal<Deque<StepFrame>> FRAMES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * Records the state of the session after a step. The oldest frame is evicted once the buffer is full.
+     *
+     * @param stepName       the name of the step
+     * @param durationMillis how long the step took
+     * @param failure        the failure thrown by the step, or null if it passed
+     */
+    public static void record(String stepName, long durationMillis, Throwable failure) {
+        if (MODE == Mode.NONE || CAPACITY <= 0 || driver() == null) {
+            return;
+        }
+        byte[] source = null;
+        byte[] screenshot = null;
+        try {
+            if (MODE == Mode.SOURCE || MODE == Mode.ALL) {
+                source = deflate(driver().getPageSource());
+            }
+            if (MODE == Mode.SCREENSHOT || MODE == Mode.ALL) {
+                screenshot = downscale(driver().getScreenshotAs(OutputType.BYTES));
+                FrameworkMetrics.screenshotTaken("step");
+            }
+        } catch (WebDriverException | IOException e) {
+            LOGGER.debug("Unable to capture the step frame of {}", stepName, e);
+        }
+        Deque<StepFrame> frames = FRAMES.get();
+        if (frames.size() >= CAPACITY) {
+            frames.removeFirst();
+        }
+        String failureMessage = failure == null ? null : failure.toString();
+        frames.addLast(new StepFrame(stepName, System.currentTimeMillis(), durationMillis, failureMessage, source, screenshot));
+    }
+
+    /**
+     * Returns the frames recorded for the session of the current thread, oldest first.
+     *
+     * @return the recorded frames
+     */
+    public static List<StepFrame> frames() {
+        return new ArrayList<>(FRAMES.get());
+    }
+
+    /**
+     * Drops the frames recorded for the session of the current thread.
+     */
+    public static void clear() {
+        FRAMES.remove();
+    }
+
+    /**
+     * Restores a page source deflated by {@link #record(String, long, Throwable)}.
+     *
+     * @param deflated the deflated page source
+     * @return the page source
+     */
+    public static String inflate(byte[] deflated) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(deflated);
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(deflated.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && inflater.needsInput()) {
+                    break;
+                }
+                outputStream.write(buffer, 0, count);
+            }
+            return outputStream.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Page source is not deflated", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] downscale(byte[] png) throws IOException {
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        if (source == null || source.getWidth() <= SCREENSHOT_WIDTH) {
+            return png;
+        }
+        int height = (int) Math.max(1, Math.round((double) source.getHeight() * SCREENSHOT_WIDTH / source.getWidth()));
+        BufferedImage target = new BufferedImage(SCREENSHOT_WIDTH, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, SCREENSHOT_WIDTH, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(target, "jpg", outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private static byte[] deflate(String source) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(source.getBytes(StandardCharsets.UTF_8));
+            deflater.finish();
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(source.length() / 4);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                outputStream.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return outputStream.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * What is captured after each step.
+     */
+    enum Mode {
+        NONE, SOURCE, SCREENSHOT, ALL
+    }
+
+    /**
+     * The state of the session after a single step.
+     *
+     * @param stepName       the name of the step
+     * @param timestamp      the epoch millis when the step finished
+     * @param durationMillis how long the step took
+     * @param failure        the failure thrown by the step, or null if it passed
+     * @param source         the deflated page source, or null if not captured
+     * @param screenshot     the downscaled screenshot, or null if not captured
+     */
+    public record StepFrame(String stepName, long timestamp, long durationMillis, String failure, byte[] source,
+                            byte[] screenshot) {
+    }
+}
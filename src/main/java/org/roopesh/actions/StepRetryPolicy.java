@@ -0,0 +1,92 @@
+package org.roopesh.actions;
+
+import org.roopesh.config.Config;
+import org.roopesh.config.Config.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The transient driver errors an idempotent {@link Actions} step is retried on in place, read from the config.
+ * <p>
+ * The budget is per step, so a step that keeps failing still fails within a few hundred milliseconds and the
+ * failure is left to the {@code RetryAnalyzer}.
+ */
+final class StepRetryPolicy {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StepRetryPolicy.class);
+
+    private final int maxRetries;
+    private final long delayMillis;
+    private final List<Class<? extends Throwable>> transientExceptions;
+
+    private StepRetryPolicy(int maxRetries, long delayMillis, List<Class<? extends Throwable>> transientExceptions) {
+        this.maxRetries = maxRetries;
+        this.delayMillis = delayMillis;
+        this.transientExceptions = transientExceptions;
+    }
+
+    /**
+     * Reads the policy from the config. Unknown exception classes are logged and ignored.
+     *
+     * @return the configured policy
+     */
+    static StepRetryPolicy fromConfig() {
+        List<Class<? extends Throwable>> exceptions = new ArrayList<>();
+        Arrays.stream(Config.getConfigProperty(ConfigProperty.STEP_RETRY_EXCEPTIONS).split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .forEach(name -> {
+                    try {
+                        exceptions.add(Class.forName(name).asSubclass(Throwable.class));
+                    } catch (ClassNotFoundException | ClassCastException e) {
+                        LOGGER.warn("Ignoring the step retry exception {}, it is not a Throwable on the classpath", name);
+                    }
+                });
+        return new StepRetryPolicy(Integer.parseInt(Config.getConfigProperty(ConfigProperty.STEP_RETRY_COUNT).trim()),
+                Long.parseLong(Config.getConfigProperty(ConfigProperty.STEP_RETRY_DELAY_MILLIS).trim()),
+                List.copyOf(exceptions));
+    }
+
+    int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Returns whether the failed attempt of a step is retried.
+     *
+     * @param failure the failure of the attempt
+     * @param retries how many times the step was already retried
+     * @return true if the failure is transient and the step budget is not used up
+     */
+    boolean shouldRetry(Throwable failure, int retries) {
+        return retries < maxRetries && isTransient(failure);
+    }
+
+    /**
+     * Waits between two attempts of a step.
+     */
+    void pause() {
+        if (delayMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean isTransient(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            for (Class<? extends Throwable> transientException : transientExceptions) {
+                if (transientException.isInstance(cause)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,115 @@
+package org.roopesh.actions;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Pause;
+import org.openqa.selenium.interactions.PointerInput;
+import org.openqa.selenium.interactions.Sequence;
+
+import java.time.Duration;
+import java.util.List;
+
+import static java.time.Duration.ofMillis;
+import static org.roopesh.appium.AppiumDriverManager.driver;
+
+/**
+ * {@link GestureBackend} that builds every gesture on the client as a W3C action {@link Sequence}.
+ * <p>
+ * The element bounds are fetched with {@link WebElement#getRect()} and the pointer coordinates are calculated
+ * before the sequence is sent through {@code driver().perform}.
+ */
+public class W3CGestureBackend implements GestureBackend {
+
+    @Override
+    public void click(WebElement element) {
+        element.click();
+    }
+
+    @Override
+    public void longPress(WebElement element, Duration duration) {
+        Rectangle bounds = element.getRect();
+        int x = bounds.getX() + (bounds.getWidth() / 2);
+        int y = bounds.getY() + (bounds.getHeight() / 2);
+        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
+        Sequence longPress = new Sequence(finger, 1);
+        longPress.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), x, y));
+        longPress.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+        longPress.addAction(new Pause(finger, duration));
+        longPress.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        driver().perform(List.of(longPress));
+    }
+
+    @Override
+    public void doubleClick(WebElement element) {
+        Rectangle bounds = element.getRect();
+        int x = bounds.getX() + (bounds.getWidth() / 2);
+        int y = bounds.getY() + (bounds.getHeight() / 2);
+        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
+        Sequence doubleClick = new Sequence(finger, 1);
+        doubleClick.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), x, y));
+        doubleClick.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+        doubleClick.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        doubleClick.addAction(new Pause(finger, Duration.ofMillis(100)));
+        doubleClick.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+        doubleClick.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        driver().perform(List.of(doubleClick));
+    }
+
+    @Override
+    public void swipe(WebElement element, boolean leftToRight) {
+        Rectangle bounds = element.getRect();
+        int elementWidth = bounds.getWidth();
+
+        int startX;
+        int endX;
+        if (leftToRight) {
+            startX = (int) (elementWidth * 0.1);
+            endX = (int) (elementWidth * 0.9);
+        } else {
+            startX = (int) (elementWidth * 0.9);
+            endX = (int) (elementWidth * 0.1);
+        }
+        int startY = bounds.getY() + (bounds.getHeight() / 2);
+
+        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
+        Sequence swipe = new Sequence(finger, 1);
+        swipe.addAction(finger.createPointerMove(ofMillis(0), PointerInput.Origin.viewport(), startX, startY))
+                .addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()))
+                .addAction(finger.createPointerMove(ofMillis(500), PointerInput.Origin.viewport(), endX, startY))
+                .addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        driver().perform(List.of(swipe));
+    }
+
+    @Override
+    public void swipeScreen(double startY, double endY) {
+        Dimension screenSize = Gestures.screenSize();
+        int startx = screenSize.width / 2;
+        int starty = (int) (screenSize.height * startY);
+        int endy = (int) (screenSize.height * endY);
+
+        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
+        Sequence scrollDown = new Sequence(finger, 1);
+        scrollDown.addAction(finger.createPointerMove(ofMillis(0), PointerInput.Origin.viewport(), startx, starty))
+                .addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()))
+                .addAction(finger.createPointerMove(ofMillis(3000), PointerInput.Origin.viewport(), startx, endy))
+                .addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        driver().perform(List.of(scrollDown));
+    }
+
+    @Override
+    public void dragTo(WebElement element, Point target) {
+        Rectangle bounds = element.getRect();
+        int x = bounds.getX() + (bounds.getWidth() / 2);
+        int y = bounds.getY() + (bounds.getHeight() / 2);
+        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
+        Sequence drag = new Sequence(finger, 1);
+        drag.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), x, y))
+                .addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()))
+                .addAction(new Pause(finger, Duration.ofMillis(500)))
+                .addAction(finger.createPointerMove(ofMillis(1000), PointerInput.Origin.viewport(), target.getX(), target.getY()))
+                .addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        driver().perform(List.of(drag));
+    }
+}
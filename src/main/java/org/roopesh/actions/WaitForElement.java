@@ -1,23 +1,28 @@
 package org.roopesh.actions;
 
-import com.aventstack.extentreports.Status;
 import io.appium.java_client.AppiumDriver;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.roopesh.appium.AppiumDriverManager;
+import org.roopesh.helpers.locators.Locators;
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.Assert;
+import utilities.jfr.FrameworkEvents;
+import utilities.jfr.WaitEvent;
+import utilities.metrics.FrameworkMetrics;
 
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.awaitility.Awaitility.await;
-import static utilities.reports.ExtentReportController.getTest;
+import static utilities.reports.ExtentReportController.logFail;
+import static utilities.reports.ExtentReportController.logPass;
 
 public class WaitForElement {
     private final Logger log = LogManager.getLogger(WaitForElement.class);
@@ -59,7 +64,42 @@ public class WaitForElement {
      * @param timeoutInSeconds the timeout duration in seconds
      */
     public static void waitCondition(ExpectedCondition<?> condition, long timeoutInSeconds) {
-        new WebDriverWait(getWaitForElementInstance().appiumDriver, Duration.ofSeconds(timeoutInSeconds)).until(condition);
+        waitCondition(condition, timeoutInSeconds, "condition");
+    }
+
+    private static void waitCondition(ExpectedCondition<?> condition, long timeoutInSeconds, String waitName) {
+        waitCondition(condition, timeoutInSeconds, waitName, null);
+    }
+
+    private static void waitCondition(ExpectedCondition<?> condition, long timeoutInSeconds, String waitName, By locator) {
+        WaitEvent event = new WaitEvent();
+        event.begin();
+        long startNanos = System.nanoTime();
+        String outcome = "error";
+        try {
+            new WebDriverWait(getWaitForElementInstance().appiumDriver, Duration.ofSeconds(timeoutInSeconds)).until(condition);
+            FrameworkMetrics.waitFinished(waitName, startNanos, false);
+            outcome = "met";
+        } catch (TimeoutException e) {
+            FrameworkMetrics.waitFinished(waitName, startNanos, true);
+            outcome = "timeout";
+            throw e;
+        } finally {
+            commitWaitEvent(event, waitName, condition, timeoutInSeconds, outcome, locator);
+        }
+    }
+
+    private static void commitWaitEvent(WaitEvent event, String waitName, ExpectedCondition<?> condition,
+                                        long timeoutInSeconds, String outcome, By locator) {
+        if (event.shouldCommit()) {
+            event.waitName = waitName;
+            event.condition = String.valueOf(condition);
+            event.timeout = timeoutInSeconds;
+            event.outcome = outcome;
+            event.locatorKey = Locators.keyOf(locator);
+            event.testName = FrameworkEvents.testName();
+            event.commit();
+        }
     }
 
     /**
@@ -72,7 +112,7 @@ public class WaitForElement {
      */
     public static void waitForElementToClick(By locator) {
         ExpectedCondition<WebElement> condition = ExpectedConditions.elementToBeClickable(locator);
-        waitCondition(condition);
+        waitCondition(condition, timeoutInSeconds(), "clickable", locator);
     }
 
     /**
@@ -85,7 +125,7 @@ public class WaitForElement {
      */
     public static void waitUntilElementIsPresent(By locator) {
         ExpectedCondition<WebElement> condition = ExpectedConditions.visibilityOfElementLocated(locator);
-        waitCondition(condition);
+        waitCondition(condition, timeoutInSeconds(), "visible", locator);
     }
 
     /**
@@ -113,13 +153,21 @@ public class WaitForElement {
      * @return true if the element is visible within 2 seconds, false otherwise.
      */
     public static boolean waitForElementToBeVisibleWithinTime(By locator) {
+        WaitEvent event = new WaitEvent();
+        event.begin();
+        long startNanos = System.nanoTime();
+        ExpectedCondition<WebElement> condition = ExpectedConditions.visibilityOfElementLocated(locator);
+        String outcome = "timeout";
         try {
-            new WebDriverWait(getWaitForElementInstance().appiumDriver, Duration.ofSeconds(2))
-                    .until(ExpectedConditions.visibilityOfElementLocated(locator));
+            new WebDriverWait(getWaitForElementInstance().appiumDriver, Duration.ofSeconds(2)).until(condition);
+            FrameworkMetrics.waitFinished("visibleWithinTime", startNanos, false);
+            outcome = "met";
             return true;
         } catch (Exception e) {
-
+            FrameworkMetrics.waitFinished("visibleWithinTime", startNanos, true);
             return false;
+        } finally {
+            commitWaitEvent(event, "visibleWithinTime", condition, 2, outcome, locator);
         }
     }
 
@@ -152,18 +200,18 @@ public class WaitForElement {
                         assert updatedStockElement != null;
                         String[] updatedStockData = updatedStockElement.split("\n");
                         newValue.set(updatedStockData[2]);
-                        log.info("Current Value: {}", newValue);
+                        log.debug("Current Value: {}", newValue);
                         assert newValue.get() != null;
                         return !newValue.get().equals(oldValue);
                     });
             log.info("New value : {} Old Value : {}", newValue.get(), oldValue);
-            getTest().log(Status.PASS, "New value : " + newValue.get() + " Old Value : " + oldValue);
-            getTest().log(Status.PASS, "Stock Value is getting updated");
+            logPass("New value : " + newValue.get() + " Old Value : " + oldValue);
+            logPass("Stock Value is getting updated");
             Assert.assertTrue(true, "Stock value is getting updated ");
 
         } catch (Exception e) {
             log.error("Value is not getting updated");
-            getTest().log(Status.FAIL, "Stock Value is not getting updated");
+            logFail("Stock Value is not getting updated");
             Assert.fail("Stock value is not getting updated");
         }
     }
@@ -3,9 +3,17 @@ package org.roopesh.appium;
 import io.appium.java_client.AppiumDriver;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import org.apache.logging.log4j.ThreadContext;
+import org.roopesh.PageRegistry;
+import org.roopesh.actions.StepFrameRecorder;
 import org.roopesh.config.Config;
+import org.roopesh.fixtures.AuthenticatedSession;
+import utilities.jfr.FrameworkEvents;
+import utilities.jfr.SessionEvent;
+import utilities.metrics.FrameworkMetrics;
 
 import javax.annotation.concurrent.ThreadSafe;
+import java.util.List;
 
 /**
  * The Appium Driver Manager class helps to manage Appium drivers.
@@ -19,6 +27,10 @@ public final class AppiumDriverManager {
 
     private static final ThreadLocal<AppiumDriver> APPIUM_DRIVER = new ThreadLocal<>();
     private static final ThreadLocal<TestSessionInfo> SESSION_INFO = new ThreadLocal<>();
+    /**
+     * The log4j {@link ThreadContext} key holding the {@link TestSessionInfo#getLogKey()} of the current session.
+     */
+    public static final String TEST_LOG_KEY = "testLogKey";
 
     /**
      * This provides the Appium driver for the current thread.
@@ -44,10 +56,32 @@ public final class AppiumDriverManager {
      * This method associates the provided {@link TestSessionInfo} with the current thread,
      * allowing retrieval of session-specific information during the test execution.
      *
+     * The session details are also put in the log4j {@link ThreadContext}; {@code testLogKey} is used by the
+     * {@code log4j2-perf.xml} profile to route the logs of every test and device to its own file.
+     *
      * @param sessionInfo The {@link TestSessionInfo} to be associated with the current test session.
      */
     public static void setSessionInfo(TestSessionInfo sessionInfo) {
         SESSION_INFO.set(sessionInfo);
+        ThreadContext.put(TEST_LOG_KEY, sessionInfo.getLogKey());
+        ThreadContext.put("sessionId", sessionInfo.getSessionId());
+        ThreadContext.put("device", sessionInfo.getDeviceName());
+    }
+
+    /**
+     * Points the {@link TestSessionInfo} of the current thread at the given test.
+     * <p>
+     * A session kept for a retry or for the next test is created by an earlier test; renaming it moves the
+     * {@code testLogKey} in the log4j {@link ThreadContext} to the test now running on it.
+     *
+     * @param testName the name of the test starting on the session
+     */
+    public static void startTest(String testName) {
+        TestSessionInfo sessionInfo = getSessionInfo();
+        if (sessionInfo != null) {
+            sessionInfo.setTestName(testName);
+            setSessionInfo(sessionInfo);
+        }
     }
 
     /**
@@ -79,6 +113,7 @@ public final class AppiumDriverManager {
 
         TestSessionInfo testSessionInfo = new TestSessionInfo(sessionId, platform, deviceName, testMethodName);
         setSessionInfo(testSessionInfo);
+        FrameworkMetrics.sessionOpened();
     }
 
     /**
@@ -87,9 +122,27 @@ public final class AppiumDriverManager {
      */
     public static void destroyAppiumDriver() {
         if (driver() != null) {
-            driver().quit();
+            AuthenticatedSession.forget(driver().getSessionId());
+            PageRegistry.release(driver());
+            SessionEvent event = new SessionEvent();
+            event.sessionId = String.valueOf(driver().getSessionId());
+            event.begin();
+            try {
+                driver().quit();
+                event.success = true;
+            } finally {
+                event.action = "destroy";
+                event.platform = getSessionInfo() == null ? null : getSessionInfo().getPlatform();
+                event.testName = FrameworkEvents.testName();
+                event.commit();
+            }
+            if (getSessionInfo() != null) {
+                FrameworkMetrics.sessionClosed();
+            }
             APPIUM_DRIVER.remove();
             SESSION_INFO.remove();
+            ThreadContext.removeAll(List.of(TEST_LOG_KEY, "sessionId", "device"));
+            StepFrameRecorder.clear();
         }
     }
 
@@ -1,24 +1,36 @@
 package org.roopesh.appium;
 
 import io.appium.java_client.AppiumDriver;
-import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.android.options.UiAutomator2Options;
-import io.appium.java_client.ios.IOSDriver;
+import org.roopesh.appium.artifacts.AppArtifactManager;
 import org.roopesh.config.Config;
 import org.openqa.selenium.MutableCapabilities;
 import org.testng.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.SkipException;
+import utilities.jfr.FrameworkEvents;
+import utilities.jfr.SessionEvent;
+import utilities.metrics.FrameworkMetrics;
+import utilities.retryUtility.FailureCategory;
 
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.function.Supplier;
 
 public class AutomationRunManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AutomationRunManager.class);
     private static final String userName = Config.getConfigProperty("userName");
     private static final String accesskey = Config.getConfigProperty("accessKey");
     private static final String browserStackLink = Config.getConfigProperty("browserStackURL");
+    private static final String LOCAL_APP = "C:\\Users\\EM992\\Desktop\\CodeBase\\AppiumTest\\src\\apk\\automation29Prod.apk";
+    private static final String LOCAL_DEVICE = "GooglePixel7";
     private static AppiumDriver appiumDriver;
 
     /**
@@ -38,9 +50,10 @@ public class AutomationRunManager {
         capabilities.setCapability("buildName", suiteName + ": " + formattedDate);
         capabilities.setCapability("autoGrantPermissions", true);
         capabilities.setCapability("interactiveDebugging", true);
+        setUploadedApp(capabilities);
         URI uri = new URI("https://" + userName + ":" + accesskey + browserStackLink);
         URL url = uri.toURL();
-        appiumDriver = new AndroidDriver(url, capabilities);
+        appiumDriver = createSession("android", () -> new InstrumentedAndroidDriver(url, capabilities));
         AppiumDriverManager.initializeDriver(appiumDriver, testName);
     }
 
@@ -57,9 +70,10 @@ public class AutomationRunManager {
         capabilities.setCapability("autoGrantPermissions", true);
         capabilities.setCapability("interactiveDebugging", true);
         capabilities.setCapability("name", testName);
+        setUploadedApp(capabilities);
         URI uri = new URI("https://" + userName + ":" + accesskey + browserStackLink);
         URL url = uri.toURL();
-        appiumDriver = new IOSDriver(url, capabilities);
+        appiumDriver = createSession("iOS", () -> new InstrumentedIOSDriver(url, capabilities));
         AppiumDriverManager.initializeDriver(appiumDriver, testName);
     }
 
@@ -67,6 +81,9 @@ public class AutomationRunManager {
      * Start a local Appium test run.
      * <p>
      * This method creates a new Appium driver instance pointing to the local Appium server.
+     * When the device already has the same build installed, as recorded by the {@link AppArtifactManager}, the
+     * session keeps the app, only clearing its data so every test starts logged out, and skips the installation of
+     * the UiAutomator2 server; otherwise the build is installed.
      *
      */
     public static void localRun() {
@@ -74,19 +91,116 @@ public class AutomationRunManager {
             String testName = "Local Test";
             URI uri = new URI("http://127.0.0.1:4723/");
             URL url = uri.toURL();
+            Path app = AppArtifactManager.configuredApp().orElse(Paths.get(LOCAL_APP));
+            AppArtifactManager artifactManager = AppArtifactManager.getInstance();
+            boolean installed = artifactManager.isInstalled(LOCAL_DEVICE, app);
             UiAutomator2Options capabilities = new UiAutomator2Options();
-            capabilities.setApp("C:\\Users\\EM992\\Desktop\\CodeBase\\AppiumTest\\src\\apk\\automation29Prod.apk");
-            capabilities.setCapability("deviceName", "GooglePixel7");
+            capabilities.setApp(app.toString());
+            capabilities.setFullReset(false);
+            capabilities.setNoReset(false);
+            capabilities.setSkipServerInstallation(installed);
+            capabilities.setEnforceAppInstall(!installed);
+            capabilities.setCapability("deviceName", LOCAL_DEVICE);
             capabilities.setPlatformName("Android");
             capabilities.setCapability("automationName", "UiAutomator2");
             capabilities.setCapability("name", testName);
             capabilities.setCapability("autoGrantPermissions", true);
             capabilities.setCapability("interactiveDebugging", true);
-            appiumDriver = new AndroidDriver(url, capabilities);
+            appiumDriver = createSession("localRun", () -> new InstrumentedAndroidDriver(url, capabilities));
+            if (!installed) {
+                artifactManager.recordInstall(LOCAL_DEVICE, app);
+            }
             AppiumDriverManager.initializeDriver(appiumDriver, testName);
         } catch (Exception e) {
             Assert.fail("Caught Your Exception: " + e.fillInStackTrace().toString());
         }
 
     }
+
+    /**
+     * Points the session at the build set by {@code appPath}, uploading it first if it is new; without
+     * {@code appPath} the {@code app} of browserstack.yml is used.
+     *
+     * @param capabilities the capabilities of the session
+     */
+    private static void setUploadedApp(MutableCapabilities capabilities) {
+        AppArtifactManager.configuredApp()
+                .ifPresent(app -> capabilities.setCapability("app", AppArtifactManager.getInstance().resolve(app).appId()));
+    }
+
+    /**
+     * Creates the session, retrying an infrastructure failure up to {@code sessionCreationRetries} times.
+     * <p>
+     * The sessions are created in {@code @BeforeMethod}, where a failure is a configuration failure that never
+     * reaches the {@link utilities.retryUtility.RetryAnalyzer}; the creation is therefore retried here, waiting
+     * {@code retryBackoffMillis} before the first retry and doubling the wait with every further retry.
+     *
+     * @param platform      the platform label of the session
+     * @param driverFactory creates the driver
+     * @return the created driver
+     */
+    private static AppiumDriver createSession(String platform, Supplier<AppiumDriver> driverFactory) {
+        int retries = Integer.parseInt(Config.getConfigProperty(Config.ConfigProperty.SESSION_CREATION_RETRIES).trim());
+        long backoffMillis = Long.parseLong(Config.getConfigProperty(Config.ConfigProperty.RETRY_BACKOFF_MILLIS).trim());
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return createSessionOnce(platform, driverFactory);
+            } catch (RuntimeException e) {
+                if (attempt >= retries || FailureCategory.classify(e) != FailureCategory.INFRASTRUCTURE) {
+                    throw e;
+                }
+                long delay = backoffMillis << Math.min(attempt, 10);
+                LOGGER.warn("Session creation failed on attempt {} of {}, retrying in {} ms: {}", attempt + 1, retries + 1, delay, e.toString());
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the session and records how long the creation took, both in the metrics and as a {@link SessionEvent}.
+     * <p>
+     * The creation goes through the {@link SessionCircuitBreaker}; while the circuit is open the test is skipped
+     * right away instead of waiting for the hub to time out.
+     *
+     * @param platform      the platform label of the session
+     * @param driverFactory creates the driver
+     * @return the created driver
+     */
+    private static AppiumDriver createSessionOnce(String platform, Supplier<AppiumDriver> driverFactory) {
+        SessionCircuitBreaker circuitBreaker = SessionCircuitBreaker.getInstance();
+        if (!circuitBreaker.tryAcquire()) {
+            throw new SkipException("Skipped due to infrastructure: the session circuit is "
+                    + circuitBreaker.getState() + " after repeated session creation failures");
+        }
+        SessionEvent event = new SessionEvent();
+        event.begin();
+        long startNanos = System.nanoTime();
+        boolean created = false;
+        try {
+            AppiumDriver driver = driverFactory.get();
+            FrameworkMetrics.sessionCreated(startNanos, true);
+            created = true;
+            event.success = true;
+            event.sessionId = String.valueOf(driver.getSessionId());
+            return driver;
+        } catch (RuntimeException e) {
+            FrameworkMetrics.sessionCreated(startNanos, false);
+            throw e;
+        } finally {
+            if (created) {
+                circuitBreaker.onSuccess();
+            } else {
+                circuitBreaker.onFailure();
+            }
+            event.action = "create";
+            event.platform = platform;
+            event.testName = FrameworkEvents.testName();
+            event.commit();
+        }
+    }
 }
@@ -0,0 +1,88 @@
+package org.roopesh.appium;
+
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.CommandPayload;
+import org.openqa.selenium.remote.RemoteWebElement;
+import org.openqa.selenium.remote.Response;
+import org.roopesh.helpers.locators.Locators;
+import utilities.jfr.DriverCommandEvent;
+import utilities.jfr.FrameworkEvents;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Records a {@link DriverCommandEvent} for every command a session sends to the Appium server.
+ * <p>
+ * The elements returned by the find commands are remembered with the locator key they were found by, so the
+ * commands performed on an element later on carry the same key. Nothing is recorded while no flight recording is
+ * running.
+ */
+public final class DriverCommandRecorder {
+    private static final String ELEMENT_ID = "id";
+
+    private final Map<String, String> elementKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the locator key the given element was found by.
+     *
+     * @param element the element
+     * @return the locator key, or null if unknown
+     */
+    public static String locatorKeyOf(WebElement element) {
+        if (element instanceof RemoteWebElement remoteElement
+                && AppiumDriverManager.driver() instanceof InstrumentedDriver instrumentedDriver) {
+            return instrumentedDriver.commandRecorder().elementKeys.get(remoteElement.getId());
+        }
+        return null;
+    }
+
+    /**
+     * Executes the command and records its event.
+     *
+     * @param payload  the command
+     * @param executor sends the command to the server
+     * @return the response of the server
+     */
+    Response execute(CommandPayload payload, Function<CommandPayload, Response> executor) {
+        DriverCommandEvent event = new DriverCommandEvent();
+        if (!event.isEnabled()) {
+            return executor.apply(payload);
+        }
+        Map<String, ?> parameters = payload.getParameters();
+        String locatorKey = parameters.containsKey("using")
+                ? Locators.keyOf(String.valueOf(parameters.get("using")), parameters.get("value"))
+                : parameters.get(ELEMENT_ID) instanceof String elementId ? elementKeys.get(elementId) : null;
+        event.begin();
+        try {
+            Response response = executor.apply(payload);
+            if (locatorKey != null) {
+                rememberElements(response.getValue(), locatorKey);
+            }
+            event.success = true;
+            return response;
+        } finally {
+            event.command = payload.getName();
+            event.locatorKey = locatorKey;
+            event.testName = FrameworkEvents.testName();
+            event.commit();
+        }
+    }
+
+    private void rememberElements(Object value, String locatorKey) {
+        if (value instanceof RemoteWebElement element) {
+            elementKeys.put(element.getId(), locatorKey);
+        } else if (value instanceof Collection<?> elements) {
+            elements.forEach(element -> rememberElements(element, locatorKey));
+        }
+    }
+
+    /**
+     * A driver that records its commands through a {@link DriverCommandRecorder}.
+     */
+    public interface InstrumentedDriver {
+        DriverCommandRecorder commandRecorder();
+    }
+}
@@ -0,0 +1,32 @@
+package org.roopesh.appium;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.remote.CommandPayload;
+import org.openqa.selenium.remote.Response;
+
+import java.net.URL;
+
+/**
+ * {@link AndroidDriver} that records a flight recorder event for every command.
+ */
+public class InstrumentedAndroidDriver extends AndroidDriver implements DriverCommandRecorder.InstrumentedDriver {
+    private DriverCommandRecorder commandRecorder;
+
+    public InstrumentedAndroidDriver(URL remoteAddress, Capabilities capabilities) {
+        super(remoteAddress, capabilities);
+    }
+
+    @Override
+    public DriverCommandRecorder commandRecorder() {
+        if (commandRecorder == null) {
+            commandRecorder = new DriverCommandRecorder();
+        }
+        return commandRecorder;
+    }
+
+    @Override
+    protected Response execute(CommandPayload payload) {
+        return commandRecorder().execute(payload, super::execute);
+    }
+}
@@ -0,0 +1,32 @@
+package org.roopesh.appium;
+
+import io.appium.java_client.ios.IOSDriver;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.remote.CommandPayload;
+import org.openqa.selenium.remote.Response;
+
+import java.net.URL;
+
+/**
+ * {@link IOSDriver} that records a flight recorder event for every command.
+ */
+public class InstrumentedIOSDriver extends IOSDriver implements DriverCommandRecorder.InstrumentedDriver {
+    private DriverCommandRecorder commandRecorder;
+
+    public InstrumentedIOSDriver(URL remoteAddress, Capabilities capabilities) {
+        super(remoteAddress, capabilities);
+    }
+
+    @Override
+    public DriverCommandRecorder commandRecorder() {
+        if (commandRecorder == null) {
+            commandRecorder = new DriverCommandRecorder();
+        }
+        return commandRecorder;
+    }
+
+    @Override
+    protected Response execute(CommandPayload payload) {
+        return commandRecorder().execute(payload, super::execute);
+    }
+}
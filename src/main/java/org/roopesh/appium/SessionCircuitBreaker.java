@@ -0,0 +1,141 @@
+package org.roopesh.appium;
+
+import org.roopesh.config.Config;
+import org.roopesh.config.Config.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker around the creation of the Appium sessions, shared by all the test threads.
+ * <p>
+ * The outcome of the latest {@code sessionBreakerWindow} creations is kept in a ring. Once the window holds at
+ * least {@code sessionBreakerMinCalls} outcomes and the failure rate reaches {@code sessionBreakerFailureRate} the
+ * circuit opens and no session is requested from the hub for {@code sessionBreakerOpenSeconds}. After that a single
+ * creation probes the hub: it closes the circuit if it succeeds and opens it again if it fails.
+ */
+public final class SessionCircuitBreaker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionCircuitBreaker.class);
+
+    private final boolean[] failures;
+    private final int minCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private State state = State.CLOSED;
+    private int calls;
+    private int next;
+    private int failureCount;
+    private long openUntilNanos;
+
+    private SessionCircuitBreaker(int window, int minCalls, double failureRateThreshold, Duration openDuration) {
+        this.failures = new boolean[window];
+        this.minCalls = minCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Returns the circuit breaker of the run, read from the config on first use.
+     *
+     * @return the shared {@link SessionCircuitBreaker}
+     */
+    public static SessionCircuitBreaker getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    /**
+     * Asks for the permission to create a session.
+     *
+     * @return true if the session may be created, false while the circuit is open or another thread is probing
+     */
+    public synchronized boolean tryAcquire() {
+        return switch (state) {
+            case CLOSED -> true;
+            case HALF_OPEN -> false;
+            case OPEN -> {
+                if (System.nanoTime() - openUntilNanos < 0) {
+                    yield false;
+                }
+                LOGGER.info("Session circuit half-open, probing the hub with a single session");
+                state = State.HALF_OPEN;
+                yield true;
+            }
+        };
+    }
+
+    /**
+     * Records a session created after {@link #tryAcquire()}.
+     */
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            LOGGER.info("Session circuit closed, the probe session was created");
+            state = State.CLOSED;
+            reset();
+            return;
+        }
+        record(false);
+    }
+
+    /**
+     * Records a session creation that failed after {@link #tryAcquire()}.
+     */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open("the probe session failed");
+            return;
+        }
+        record(true);
+        if (calls >= minCalls && (double) failureCount / calls >= failureRateThreshold) {
+            open(failureCount + " of the last " + calls + " session creations failed");
+        }
+    }
+
+    /**
+     * Returns the current state of the circuit.
+     *
+     * @return the state
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (calls == failures.length) {
+            failureCount -= failures[next] ? 1 : 0;
+        } else {
+            calls++;
+        }
+        failures[next] = failure;
+        failureCount += failure ? 1 : 0;
+        next = (next + 1) % failures.length;
+    }
+
+    private void open(String reason) {
+        LOGGER.warn("Session circuit open for {} s, {}", Duration.ofNanos(openNanos).toSeconds(), reason);
+        state = State.OPEN;
+        openUntilNanos = System.nanoTime() + openNanos;
+        reset();
+    }
+
+    private void reset() {
+        calls = 0;
+        next = 0;
+        failureCount = 0;
+    }
+
+    /**
+     * The state of the circuit.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static class LazyHolder {
+        private static final SessionCircuitBreaker INSTANCE = new SessionCircuitBreaker(
+                Integer.parseInt(Config.getConfigProperty(ConfigProperty.SESSION_BREAKER_WINDOW).trim()),
+                Integer.parseInt(Config.getConfigProperty(ConfigProperty.SESSION_BREAKER_MIN_CALLS).trim()),
+                Double.parseDouble(Config.getConfigProperty(ConfigProperty.SESSION_BREAKER_FAILURE_RATE).trim()),
+                Duration.ofSeconds(Long.parseLong(Config.getConfigProperty(ConfigProperty.SESSION_BREAKER_OPEN_SECONDS).trim())));
+    }
+}
@@ -0,0 +1,151 @@
+package org.roopesh.appium;
+
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.InteractsWithApps;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.remote.SupportsContextSwitching;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.openqa.selenium.WebDriverException;
+import org.roopesh.actions.StepFrameRecorder;
+import org.roopesh.config.Config;
+import org.roopesh.config.Config.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+import static org.roopesh.appium.AppiumDriverManager.driver;
+
+/**
+ * Keeps the session of a test open on its thread so the retry of the same test, or the next test of the class when
+ * {@code keepSessionBetweenTests} is enabled, can run on it.
+ * <p>
+ * A session is only parked while it still answers, and the app under test is restarted before it is reused, so
+ * the test starts from the launch screen like on a new session.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SessionReuse {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionReuse.class);
+    private static final ThreadLocal<ParkedSession> PARKED_SESSION = new ThreadLocal<>();
+
+    /**
+     * Returns whether the session of a passed test is kept for the next test of the class.
+     *
+     * @return the {@code keepSessionBetweenTests} config
+     */
+    public static boolean keepsSessionBetweenTests() {
+        return Boolean.parseBoolean(Config.getConfigProperty(ConfigProperty.KEEP_SESSION_BETWEEN_TESTS));
+    }
+
+    /**
+     * Parks the session of the current thread for the retry of the given test.
+     *
+     * @param testName the qualified name of the test to be retried
+     * @return true if the session is healthy and was parked, false if it has to be destroyed
+     */
+    public static boolean park(String testName) {
+        AppiumDriver driver = driver();
+        if (!isHealthy(driver)) {
+            return false;
+        }
+        try {
+            String appId = appId(driver);
+            if (appId == null) {
+                return false;
+            }
+            PARKED_SESSION.set(new ParkedSession(testName, appId));
+            return true;
+        } catch (WebDriverException e) {
+            LOGGER.debug("Unable to read the app id of the session", e);
+            return false;
+        }
+    }
+
+    /**
+     * Parks the session of the current thread for whichever test runs next on it.
+     *
+     * @return true if the session is healthy and was parked, false if it has to be destroyed
+     */
+    public static boolean parkForNextTest() {
+        return park(null);
+    }
+
+    /**
+     * Resumes the parked session for the given test. A session parked for the retry of another test, or one that
+     * stopped answering, is destroyed.
+     *
+     * @param testName the qualified name of the test about to start
+     * @return true if the test runs on the parked session, false if a new session has to be created
+     */
+    public static boolean resume(String testName) {
+        ParkedSession parkedSession = PARKED_SESSION.get();
+        PARKED_SESSION.remove();
+        if (parkedSession == null) {
+            return false;
+        }
+        AppiumDriver driver = driver();
+        if ((parkedSession.testName() == null || parkedSession.testName().equals(testName)) && isHealthy(driver)) {
+            try {
+                restartApp(driver, parkedSession.appId());
+                StepFrameRecorder.clear();
+                LOGGER.info("{} {} on session {}", parkedSession.testName() == null ? "Running" : "Retrying", testName,
+                        driver.getSessionId());
+                return true;
+            } catch (WebDriverException e) {
+                LOGGER.warn("Unable to restart the app on session {}, creating a new session", driver.getSessionId(), e);
+            }
+        }
+        AppiumDriverManager.destroyAppiumDriver();
+        return false;
+    }
+
+    /**
+     * Forgets the parked session of the current thread, the caller destroys the driver.
+     */
+    public static void release() {
+        PARKED_SESSION.remove();
+    }
+
+    private static boolean isHealthy(AppiumDriver driver) {
+        if (driver == null || driver.getSessionId() == null) {
+            return false;
+        }
+        try {
+            if (driver instanceof SupportsContextSwitching contextSwitching) {
+                contextSwitching.getContext();
+            } else {
+                driver.getPageSource();
+            }
+            return true;
+        } catch (WebDriverException e) {
+            LOGGER.debug("Session {} is not healthy", driver.getSessionId(), e);
+            return false;
+        }
+    }
+
+    private static String appId(AppiumDriver driver) {
+        if (driver instanceof AndroidDriver androidDriver) {
+            return androidDriver.getCurrentPackage();
+        }
+        if (driver.executeScript("mobile: activeAppInfo") instanceof Map<?, ?> appInfo) {
+            Object bundleId = appInfo.get("bundleId");
+            return bundleId == null ? null : bundleId.toString();
+        }
+        return null;
+    }
+
+    private static void restartApp(AppiumDriver driver, String appId) {
+        if (driver instanceof InteractsWithApps apps) {
+            apps.terminateApp(appId);
+            apps.activateApp(appId);
+        }
+    }
+
+    /**
+     * @param testName the qualified name of the test the session is parked for, or null for any test
+     * @param appId    the package or bundle id of the app under test
+     */
+    private record ParkedSession(String testName, String appId) {
+    }
+}
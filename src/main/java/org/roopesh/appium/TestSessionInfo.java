@@ -20,4 +20,13 @@ public class TestSessionInfo {
         this.testName = testName;
     }
 
+    /**
+     * Returns the key the logs of this session are routed by, made of the test name and the device name.
+     *
+     * @return the file name safe log key
+     */
+    public String getLogKey() {
+        return (testName + "-" + deviceName).replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
 }
@@ -0,0 +1,201 @@
+package org.roopesh.appium.artifacts;
+
+import org.roopesh.config.Config;
+import org.roopesh.config.Config.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Uploads and installs an app build only when it changed.
+ * <p>
+ * Builds are identified by their SHA-256. The {@code appManifestFile} remembers the remote id of every build
+ * uploaded through the {@code appUploadClient}, so a build is uploaded once however many runs and forks use it, and
+ * re-uploaded only once the device cloud may have deleted it. It also remembers the build last installed on each
+ * local device, so a local session reinstalls the app only when the build differs.
+ * <p>
+ * Within a run each build is hashed and resolved once, the sessions of the other tests reuse the result.
+ */
+public final class AppArtifactManager {
+    /**
+     * BrowserStack deletes the uploaded apps after 30 days, builds are re-uploaded a day before.
+     */
+    private static final Duration MAX_UPLOAD_AGE = Duration.ofDays(29);
+    private static final Logger LOGGER = LoggerFactory.getLogger(AppArtifactManager.class);
+
+    private final Path manifestFile;
+    private final String clientName;
+    private final AppUploadClient uploadClient;
+    private final Map<Path, String> hashes = new ConcurrentHashMap<>();
+    private final Map<Path, AppArtifact> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a manager keeping its manifest in the given file.
+     *
+     * @param manifestFile the manifest file
+     * @param clientName   the name of the upload client, uploads of other clients are not reused
+     * @param uploadClient the client uploading the new builds
+     */
+    public AppArtifactManager(Path manifestFile, String clientName, AppUploadClient uploadClient) {
+        this.manifestFile = manifestFile;
+        this.clientName = clientName;
+        this.uploadClient = uploadClient;
+    }
+
+    /**
+     * Returns the manager of the run, configured by {@code appManifestFile} and {@code appUploadClient}.
+     *
+     * @return the shared {@link AppArtifactManager}
+     */
+    public static AppArtifactManager getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    /**
+     * Returns the build set by {@code appPath}.
+     *
+     * @return the APK or IPA under test, or empty if none is configured
+     */
+    public static Optional<Path> configuredApp() {
+        String appPath = Config.getConfigProperty(ConfigProperty.APP_PATH).trim();
+        return appPath.isEmpty() ? Optional.empty() : Optional.of(Paths.get(appPath));
+    }
+
+    /**
+     * Returns the remote build of the artifact, uploading it if the manifest has no recent upload of the same
+     * SHA-256.
+     *
+     * @param artifact the APK or IPA
+     * @return the resolved build
+     * @throws UncheckedIOException if the artifact cannot be read or uploaded
+     */
+    public AppArtifact resolve(Path artifact) {
+        return resolved.computeIfAbsent(artifact.toAbsolutePath().normalize(), path -> {
+            try {
+                return upload(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to upload the app " + path, e);
+            }
+        });
+    }
+
+    /**
+     * Returns whether the device has the same build installed, as recorded by {@link #recordInstall(String, Path)}.
+     *
+     * @param device   the device name or udid
+     * @param artifact the APK or IPA
+     * @return true if the last build installed on the device has the SHA-256 of the artifact
+     */
+    public boolean isInstalled(String device, Path artifact) {
+        try {
+            return sha256(artifact).equals(AppManifest.read(manifestFile).getInstalled(device));
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read the app manifest {}, reinstalling the app", manifestFile, e);
+            return false;
+        }
+    }
+
+    /**
+     * Records the build installed on a device, once a session started with it.
+     *
+     * @param device   the device name or udid
+     * @param artifact the installed APK or IPA
+     */
+    public void recordInstall(String device, Path artifact) {
+        try {
+            String sha256 = sha256(artifact);
+            AppManifest.update(manifestFile, manifest -> manifest.putInstalled(device, sha256));
+        } catch (IOException e) {
+            LOGGER.warn("Unable to record the app installed on {}", device, e);
+        }
+    }
+
+    /**
+     * Returns the SHA-256 of the artifact, hashed once per run.
+     *
+     * @param artifact the APK or IPA
+     * @return the SHA-256, in hex
+     * @throws IOException if the artifact cannot be read
+     */
+    public String sha256(Path artifact) throws IOException {
+        Path path = artifact.toAbsolutePath().normalize();
+        String sha256 = hashes.get(path);
+        if (sha256 == null) {
+            sha256 = hash(path);
+            hashes.put(path, sha256);
+        }
+        return sha256;
+    }
+
+    private AppArtifact upload(Path artifact) throws IOException {
+        String sha256 = sha256(artifact);
+        String key = clientName + ":" + sha256;
+        AppManifest.Upload upload = AppManifest.read(manifestFile).getUpload(key);
+        if (isRecent(upload)) {
+            LOGGER.info("App {} ({}) already uploaded as {}", artifact.getFileName(), sha256, upload.appId());
+            return new AppArtifact(artifact, sha256, upload.appId());
+        }
+        // checked again under the lock, held for the upload, so forks starting together upload the build once
+        return AppManifest.compute(manifestFile, manifest -> {
+            AppManifest.Upload current = manifest.getUpload(key);
+            if (isRecent(current)) {
+                LOGGER.info("App {} ({}) uploaded by another run as {}", artifact.getFileName(), sha256, current.appId());
+                return new AppArtifact(artifact, sha256, current.appId());
+            }
+            long startNanos = System.nanoTime();
+            String appId = uploadClient.upload(artifact, sha256);
+            LOGGER.info("App {} ({}) uploaded as {} in {} ms", artifact.getFileName(), sha256, appId,
+                    Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+            manifest.putUpload(key, new AppManifest.Upload(appId, artifact.getFileName().toString(), System.currentTimeMillis()));
+            return new AppArtifact(artifact, sha256, appId);
+        });
+    }
+
+    private static boolean isRecent(AppManifest.Upload upload) {
+        return upload != null && System.currentTimeMillis() - upload.uploadedAt() < MAX_UPLOAD_AGE.toMillis();
+    }
+
+    private static String hash(Path artifact) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(artifact)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            int count;
+            while ((count = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, count);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    /**
+     * A build known to the device cloud.
+     *
+     * @param path   the local APK or IPA
+     * @param sha256 the SHA-256 of the build, in hex
+     * @param appId  the id the sessions refer to the build with
+     */
+    public record AppArtifact(Path path, String sha256, String appId) {
+    }
+
+    private static final class LazyHolder {
+        private static final AppArtifactManager INSTANCE = new AppArtifactManager(
+                Paths.get(Config.getConfigProperty(ConfigProperty.APP_MANIFEST_FILE).trim()),
+                Config.getConfigProperty(ConfigProperty.APP_UPLOAD_CLIENT).trim().toLowerCase(),
+                AppUploadClient.fromConfig());
+    }
+}
@@ -0,0 +1,138 @@
+package org.roopesh.appium.artifacts;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The local manifest of the app builds: the remote id of every uploaded build and the build last installed on each
+ * local device, both keyed by SHA-256.
+ * <p>
+ * Updates hold a lock on a sibling {@code .lock} file, and the monitor of this class against the other threads of the
+ * run, and re-read the manifest first, so parallel forks sharing the manifest do not lose each other's entries; the
+ * new manifest replaces the old one atomically.
+ */
+final class AppManifest {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private Map<String, Upload> uploads = new HashMap<>();
+    private Map<String, String> installs = new HashMap<>();
+
+    /**
+     * Reads the manifest, or returns an empty one if the file does not exist or cannot be parsed.
+     *
+     * @param path the manifest file
+     * @return the manifest
+     * @throws IOException if the file cannot be read
+     */
+    static AppManifest read(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return new AppManifest();
+        }
+        try {
+            AppManifest manifest = GSON.fromJson(Files.readString(path, StandardCharsets.UTF_8), AppManifest.class);
+            return manifest == null ? new AppManifest() : manifest.normalize();
+        } catch (JsonParseException e) {
+            return new AppManifest();
+        }
+    }
+
+    /**
+     * Applies a change to the manifest on the disk.
+     *
+     * @param path   the manifest file
+     * @param change the change
+     * @throws IOException if the manifest cannot be read or written
+     */
+    static void update(Path path, Consumer<AppManifest> change) throws IOException {
+        compute(path, manifest -> {
+            change.accept(manifest);
+            return null;
+        });
+    }
+
+    /**
+     * Applies a change to the manifest on the disk and returns its result. The lock is held for the whole change,
+     * so a change may check the manifest and act on it without another fork doing the same in between.
+     *
+     * @param path   the manifest file
+     * @param change the change
+     * @param <T>    the type of the result
+     * @return the result of the change
+     * @throws IOException if the manifest cannot be read or written, or the change fails
+     */
+    static <T> T compute(Path path, Change<T> change) throws IOException {
+        Path absolutePath = path.toAbsolutePath();
+        Files.createDirectories(absolutePath.getParent());
+        Path lockFile = absolutePath.resolveSibling(absolutePath.getFileName() + ".lock");
+        synchronized (AppManifest.class) {
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock _ = channel.lock()) {
+                AppManifest manifest = read(absolutePath);
+                T result = change.apply(manifest);
+                Path temporaryFile = absolutePath.resolveSibling(absolutePath.getFileName() + ".tmp");
+                Files.writeString(temporaryFile, GSON.toJson(manifest), StandardCharsets.UTF_8);
+                Files.move(temporaryFile, absolutePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return result;
+            }
+        }
+    }
+
+    Upload getUpload(String sha256) {
+        return uploads.get(sha256);
+    }
+
+    void putUpload(String sha256, Upload upload) {
+        uploads.put(sha256, upload);
+    }
+
+    String getInstalled(String device) {
+        return installs.get(device);
+    }
+
+    void putInstalled(String device, String sha256) {
+        installs.put(device, sha256);
+    }
+
+    private AppManifest normalize() {
+        if (uploads == null) {
+            uploads = new HashMap<>();
+        }
+        if (installs == null) {
+            installs = new HashMap<>();
+        }
+        return this;
+    }
+
+    /**
+     * A change applied under the lock of the manifest.
+     *
+     * @param <T> the type of the result
+     */
+    @FunctionalInterface
+    interface Change<T> {
+        T apply(AppManifest manifest) throws IOException;
+    }
+
+    /**
+     * An uploaded build.
+     *
+     * @param appId      the remote id of the build
+     * @param fileName   the name of the uploaded file
+     * @param uploadedAt the epoch millis of the upload
+     */
+    record Upload(String appId, String fileName, long uploadedAt) {
+    }
+}
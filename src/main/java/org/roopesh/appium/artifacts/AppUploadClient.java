@@ -0,0 +1,39 @@
+package org.roopesh.appium.artifacts;
+
+import org.roopesh.config.Config;
+import org.roopesh.config.Config.ConfigProperty;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Uploads an app build to the device cloud.
+ */
+@FunctionalInterface
+public interface AppUploadClient {
+
+    /**
+     * Uploads the build.
+     *
+     * @param artifact the APK or IPA to upload
+     * @param sha256   the SHA-256 of the build, in hex
+     * @return the id the sessions refer to the uploaded build with, e.g. {@code bs://<app id>}
+     * @throws IOException if the upload fails
+     */
+    String upload(Path artifact, String sha256) throws IOException;
+
+    /**
+     * Returns the client selected by {@code appUploadClient}.
+     *
+     * @return the upload client
+     */
+    static AppUploadClient fromConfig() {
+        String client = Config.getConfigProperty(ConfigProperty.APP_UPLOAD_CLIENT).trim();
+        return switch (client.toLowerCase()) {
+            case "browserstack" -> new BrowserStackUploadClient(Config.getConfigProperty("userName"),
+                    Config.getConfigProperty("accessKey"));
+            case "local" -> (_, sha256) -> "local://" + sha256;
+            default -> throw new IllegalArgumentException("Unknown appUploadClient " + client);
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package org.roopesh.appium.artifacts;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Uploads the builds to BrowserStack App Automate. The file is streamed from the disk as a multipart form.
+ */
+final class BrowserStackUploadClient implements AppUploadClient {
+    private static final URI UPLOAD_URI = URI.create("https://api-cloud.browserstack.com/app-automate/upload");
+    private static final Gson GSON = new Gson();
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+    private final String authorization;
+
+    BrowserStackUploadClient(String userName, String accessKey) {
+        this.authorization = "Basic " + Base64.getEncoder().encodeToString((userName + ":" + accessKey).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String upload(Path artifact, String sha256) throws IOException {
+        String boundary = "----mobile-automation-" + UUID.randomUUID();
+        String head = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"custom_id\"\r\n\r\n" + sha256 + "\r\n"
+                + "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + artifact.getFileName() + "\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n";
+        String tail = "\r\n--" + boundary + "--\r\n";
+        HttpRequest request = HttpRequest.newBuilder(UPLOAD_URI)
+                .timeout(Duration.ofMinutes(10))
+                .header("Authorization", authorization)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.concat(
+                        HttpRequest.BodyPublishers.ofString(head, StandardCharsets.UTF_8),
+                        HttpRequest.BodyPublishers.ofFile(artifact),
+                        HttpRequest.BodyPublishers.ofString(tail, StandardCharsets.UTF_8)))
+                .build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            if (response.statusCode() / 100 != 2) {
+                throw new IOException("BrowserStack upload of " + artifact + " returned " + response.statusCode() + ": " + response.body());
+            }
+            JsonObject body = GSON.fromJson(response.body(), JsonObject.class);
+            if (body == null || !body.has("app_url")) {
+                throw new IOException("BrowserStack upload of " + artifact + " returned no app_url: " + response.body());
+            }
+            return body.get("app_url").getAsString();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while uploading " + artifact, e);
+        }
+    }
+}
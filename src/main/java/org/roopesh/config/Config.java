@@ -79,13 +79,16 @@ public final class Config {
     /**
      * Convenience method to get a config property using an Enum value.
      * See {@link #getConfigProperty(String)} for details.
+     * <p>
+     * If the property is not defined in the config file, the default value of the Enum is returned.
      *
      * @param configProperty the config property Enum value
      * @return the value of the specified configuration property
      * @throws NullPointerException if {@code configProperty} is null
      */
     public static String getConfigProperty(final ConfigProperty configProperty) {
-        return getConfigProperty(configProperty.getName());
+        String value = getConfigProperty(configProperty.getName());
+        return value != null ? value : configProperty.getDefaultValue();
     }
 
     /**
@@ -370,7 +373,288 @@ public final class Config {
          * This parameter enable/disable Retry Analyzer.
          * By default, this value is <b>true</b>
          */
-        IS_RETRY_ENABLED("enableRetry", "true");
+        IS_RETRY_ENABLED("enableRetry", "true"),
+        /**
+         * This parameter specifies the gesture backend used on Android.
+         * <b>w3c</b> builds the W3C action sequence on the client, <b>mobile</b> uses the UiAutomator2
+         * {@code mobile:} gesture commands.
+         * By default, this value is <b>w3c</b>
+         */
+        ANDROID_GESTURE_BACKEND("androidGestureBackend", "w3c"),
+        /**
+         * This parameter specifies the gesture backend used on iOS.
+         * Only <b>w3c</b> is supported, the <b>mobile</b> backend needs UiAutomator2.<br>
+         * By default, this value is <b>w3c</b>
+         */
+        IOS_GESTURE_BACKEND("iosGestureBackend", "w3c"),
+        /**
+         * This parameter specifies how many report events can be queued before the backpressure policy applies.
+         * By default, this value is <b>10000</b>
+         */
+        REPORT_QUEUE_CAPACITY("reportQueueCapacity", "10000"),
+        /**
+         * This parameter specifies what a test thread does when the report queue is full.
+         * The policy can be <b>BLOCK</b>, <b>DROP_INFO</b> or <b>DROP_LOGS</b>.
+         * By default, this value is <b>BLOCK</b>
+         */
+        REPORT_BACKPRESSURE_POLICY("reportBackpressurePolicy", "BLOCK"),
+        /**
+         * This parameter specifies the maximum width, in pixels, of the failure screenshots attached to the report.
+         * Larger screenshots are downscaled keeping the aspect ratio.
+         * By default, this value is <b>720</b>
+         */
+        SCREENSHOT_MAX_WIDTH("screenshotMaxWidth", "720"),
+        /**
+         * This parameter specifies the JPEG quality, between <b>0</b> and <b>1</b>, of the failure screenshots.
+         * By default, this value is <b>0.6</b>
+         */
+        SCREENSHOT_JPEG_QUALITY("screenshotJpegQuality", "0.6"),
+        /**
+         * This parameter specifies how many threads encode and write the failure screenshots.
+         * By default, this value is <b>2</b>
+         */
+        SCREENSHOT_POOL_SIZE("screenshotPoolSize", "2"),
+        /**
+         * This parameter specifies how many of the last steps are kept in memory and written to the report when a test fails.
+         * By default, this value is <b>10</b>
+         */
+        STEP_FRAME_COUNT("stepFrameCount", "10"),
+        /**
+         * This parameter specifies what is captured after each step.
+         * The mode can be <b>none</b>, <b>source</b> (deflated page source), <b>screenshot</b> or <b>all</b>.
+         * Every mode but <b>none</b> costs one or two driver round trips per step, also for the tests that pass.
+         * By default, this value is <b>none</b>
+         */
+        STEP_FRAME_MODE("stepFrameMode", "none"),
+        /**
+         * This parameter specifies the maximum width, in pixels, of the step screenshots kept in memory.
+         * The screenshots are downscaled keeping the aspect ratio before they are buffered.
+         * By default, this value is <b>320</b>
+         */
+        STEP_FRAME_SCREENSHOT_WIDTH("stepFrameScreenshotWidth", "320"),
+        /**
+         * This parameter specifies the maximum size, in MB, of the zipped report attached to the email.
+         * Above this size the email only carries the summary.
+         * By default, this value is <b>10</b>
+         */
+        EMAIL_ATTACHMENT_MAX_SIZE("emailAttachmentMaxSizeMb", "10"),
+        /**
+         * This parameter specifies how many times the email delivery is attempted before giving up.
+         * By default, this value is <b>3</b>
+         */
+        EMAIL_RETRY_COUNT("emailRetryCount", "3"),
+        /**
+         * This parameter specifies how long, in seconds, the JVM waits on shutdown for a pending email delivery.
+         * By default, this value is <b>120</b>
+         */
+        EMAIL_SHUTDOWN_TIMEOUT("emailShutdownTimeoutSeconds", "120"),
+        /**
+         * This parameter specifies whether the OpenMetrics text file is written next to the report at the end of the run.
+         * By default, this value is <b>true</b>
+         */
+        METRICS_FILE_ENABLED("metricsFileEnabled", "true"),
+        /**
+         * This parameter specifies the port of the OpenMetrics endpoint served during the run. <b>0</b> disables the endpoint.
+         * By default, this value is <b>0</b>
+         */
+        METRICS_PORT("metricsPort", "0"),
+        /**
+         * This parameter specifies how many times a test failing on an infrastructure error is retried.
+         * Session creation failures, transport errors and 5xx responses of the hub are infrastructure errors.
+         * By default, this value is <b>2</b>
+         */
+        RETRY_INFRASTRUCTURE_COUNT("retryInfrastructureCount", "2"),
+        /**
+         * This parameter specifies how many times a test failing on an element timeout is retried.
+         * By default, this value is <b>1</b>
+         */
+        RETRY_ELEMENT_TIMEOUT_COUNT("retryElementTimeoutCount", "1"),
+        /**
+         * This parameter specifies how many times a test failing on an assertion is retried.
+         * By default, this value is <b>0</b>
+         */
+        RETRY_ASSERTION_COUNT("retryAssertionCount", "0"),
+        /**
+         * This parameter specifies how many times a test failing on any other error is retried.
+         * By default, this value is <b>1</b>
+         */
+        RETRY_OTHER_COUNT("retryOtherCount", "1"),
+        /**
+         * This parameter specifies the delay in milliseconds before the first retry of an infrastructure error.
+         * The delay doubles with every further retry.
+         * By default, this value is <b>5000</b>
+         */
+        RETRY_BACKOFF_MILLIS("retryBackoffMillis", "5000"),
+        /**
+         * This parameter specifies how many retries the whole suite may use.
+         * By default, this value is <b>20</b>
+         */
+        RETRY_BUDGET("retryBudget", "20"),
+        /**
+         * This parameter enable/disable running the retry of a test on its healthy session instead of a new one.
+         * The app is restarted before the retry.
+         * By default, this value is <b>true</b>
+         */
+        REUSE_SESSION_ON_RETRY("reuseSessionOnRetry", "true"),
+        /**
+         * This parameter specifies how many times an idempotent step of Actions is retried in place on a transient driver error.
+         * Set it to 0 to disable the step retries.
+         * By default, this value is <b>2</b>
+         */
+        STEP_RETRY_COUNT("stepRetryCount", "2"),
+        /**
+         * This parameter specifies the delay in milliseconds between two attempts of a retried step.
+         * By default, this value is <b>200</b>
+         */
+        STEP_RETRY_DELAY_MILLIS("stepRetryDelayMillis", "200"),
+        /**
+         * This parameter specifies the comma separated exceptions a step is retried on.
+         * A step is retried when the failure or one of its causes is an instance of one of them.
+         * By default, this value is <b>org.openqa.selenium.StaleElementReferenceException,org.openqa.selenium.ElementClickInterceptedException,org.openqa.selenium.ElementNotInteractableException</b>
+         */
+        STEP_RETRY_EXCEPTIONS("stepRetryExceptions", "org.openqa.selenium.StaleElementReferenceException,org.openqa.selenium.ElementClickInterceptedException,org.openqa.selenium.ElementNotInteractableException"),
+        /**
+         * This parameter specifies the folder of the append-only test outcome history, relative to the project.
+         * By default, this value is <b>test-history</b>
+         */
+        TEST_HISTORY_DIRECTORY("testHistoryDirectory", "test-history"),
+        /**
+         * This parameter specifies how many of the latest outcomes of a test its flakiness score is computed over.
+         * By default, this value is <b>20</b>
+         */
+        FLAKINESS_WINDOW("flakinessWindow", "20"),
+        /**
+         * This parameter specifies how many outcomes of a test are needed before its flakiness score is used.
+         * By default, this value is <b>5</b>
+         */
+        FLAKINESS_MIN_HISTORY("flakinessMinHistory", "5"),
+        /**
+         * This parameter specifies how many more retries of an element timeout or another error a flaky test gets.
+         * A test is flaky once it has <b>flakinessMinHistory</b> outcomes and a flakiness score above 0. <b>0</b> disables it.
+         * By default, this value is <b>0</b>
+         */
+        FLAKY_EXTRA_RETRIES("flakyExtraRetries", "0"),
+        /**
+         * This parameter specifies the flakiness score from which a test is moved to the <b>quarantine</b> group.
+         * The score is the share of fail to pass transitions between consecutive outcomes of the window.
+         * By default, this value is <b>0.2</b>
+         */
+        QUARANTINE_THRESHOLD("quarantineThreshold", "0.2"),
+        /**
+         * This parameter enable/disable moving the flaky tests to the <b>quarantine</b> group, run after all the other tests.
+         * By default, this value is <b>true</b>
+         */
+        IS_QUARANTINE_ENABLED("enableQuarantine", "true"),
+        /**
+         * This parameter specifies how many of the latest session creations the circuit breaker computes the failure rate over.
+         * By default, this value is <b>10</b>
+         */
+        SESSION_BREAKER_WINDOW("sessionBreakerWindow", "10"),
+        /**
+         * This parameter specifies how many session creations are needed in the window before the circuit breaker may open.
+         * By default, this value is <b>4</b>
+         */
+        SESSION_BREAKER_MIN_CALLS("sessionBreakerMinCalls", "4"),
+        /**
+         * This parameter specifies the failure rate of session creation from which the circuit breaker opens.
+         * By default, this value is <b>0.5</b>
+         */
+        SESSION_BREAKER_FAILURE_RATE("sessionBreakerFailureRate", "0.5"),
+        /**
+         * This parameter specifies how long the circuit breaker stays open before a single test probes the hub again.
+         * By default, this value is <b>120</b>
+         */
+        SESSION_BREAKER_OPEN_SECONDS("sessionBreakerOpenSeconds", "120"),
+        /**
+         * This parameter specifies how many times the creation of a session is retried on an infrastructure error,
+         * waiting <b>retryBackoffMillis</b> before the first retry and doubling the wait with every further retry.
+         * Every attempt goes through the session circuit breaker.
+         * By default, this value is <b>2</b>
+         */
+        SESSION_CREATION_RETRIES("sessionCreationRetries", "2"),
+        /**
+         * This parameter specifies the shard of the data-driven rows run by this fork, from 0 to <b>dataShardCount</b> - 1.
+         * A <b>-DdataShardIndex</b> system property takes precedence.
+         * By default, this value is <b>0</b>
+         */
+        DATA_SHARD_INDEX("dataShardIndex", "0"),
+        /**
+         * This parameter specifies in how many shards the data-driven rows are split across forks or agents.
+         * A <b>-DdataShardCount</b> system property takes precedence.
+         * By default, this value is <b>1</b>
+         */
+        DATA_SHARD_COUNT("dataShardCount", "1"),
+        /**
+         * This parameter enable/disable leasing an exclusive account of the <b>accountsFile</b> pool to each test for its duration,
+         * so parallel logins never share an account. The pool needs at least as many accounts as test threads, otherwise the
+         * extra threads wait for an account and are skipped after <b>accountLeaseWaitSeconds</b>.
+         * By default, this value is <b>false</b>
+         */
+        ENABLE_ACCOUNT_LEASE("enableAccountLease", "false"),
+        /**
+         * This parameter specifies the test data file, without extension, holding the accounts leased to the tests.
+         * Each entry of its <b>testData</b> object is one account with its clientID, mobileNumber, otp and pin.
+         * By default, this value is <b>Accounts</b>
+         */
+        ACCOUNTS_FILE("accountsFile", "Accounts"),
+        /**
+         * This parameter specifies how many seconds a test waits for a free account before it is skipped.
+         * By default, this value is <b>300</b>
+         */
+        ACCOUNT_LEASE_WAIT_SECONDS("accountLeaseWaitSeconds", "300"),
+        /**
+         * This parameter specifies after how many seconds a lease expires; an expired account is handed over to a waiting test
+         * instead of skipping it.
+         * By default, this value is <b>900</b>
+         */
+        ACCOUNT_LEASE_SECONDS("accountLeaseSeconds", "900"),
+        /**
+         * This parameter enable/disable removing the OTP limit of an account through the <b>APIBASEURL</b> service when its
+         * lease is released.
+         * By default, this value is <b>true</b>
+         */
+        OTP_UNBLOCK_ON_RELEASE("otpUnblockOnRelease", "true"),
+        /**
+         * This parameter specifies how many seconds a call to the OTP service may take before it fails.
+         * By default, this value is <b>10</b>
+         */
+        OTP_REQUEST_TIMEOUT_SECONDS("otpRequestTimeoutSeconds", "10"),
+        /**
+         * This parameter enable/disable keeping the session, and the account leased with it, open for the next test of the class
+         * after a test passes. The app is restarted before the next test and a login done on the session is reused.
+         * By default, this value is <b>false</b>
+         */
+        KEEP_SESSION_BETWEEN_TESTS("keepSessionBetweenTests", "false"),
+        /**
+         * This parameter specifies how many API preconditions of the tests run in parallel; it is also the size of the
+         * connection pool of the precondition client.
+         * By default, this value is <b>4</b>
+         */
+        PRECONDITION_THREADS("preconditionThreads", "4"),
+        /**
+         * This parameter specifies how many seconds a call of an API precondition may take before it fails.
+         * By default, this value is <b>15</b>
+         */
+        PRECONDITION_TIMEOUT_SECONDS("preconditionTimeoutSeconds", "15"),
+        /**
+         * This parameter specifies the APK or IPA under test. When set, it is uploaded to BrowserStack only if its SHA-256 is not
+         * in the <b>appManifestFile</b> yet, and overrides the <b>app</b> of browserstack.yml; a local run installs it only
+         * when the device does not have the same build already.
+         * By default, this value is empty: BrowserStack runs use the <b>app</b> of browserstack.yml
+         */
+        APP_PATH("appPath", ""),
+        /**
+         * This parameter specifies the local manifest mapping the SHA-256 of the uploaded app builds to their remote app id,
+         * and the build last installed on each local device.
+         * By default, this value is <b>app-cache/manifest.json</b>
+         */
+        APP_MANIFEST_FILE("appManifestFile", "app-cache/manifest.json"),
+        /**
+         * This parameter specifies where new app builds are uploaded: <b>browserstack</b> or <b>local</b>, a stand-in that
+         * uploads nothing and returns a <b>local://</b> id.
+         * By default, this value is <b>browserstack</b>
+         */
+        APP_UPLOAD_CLIENT("appUploadClient", "browserstack");
 
 
         private final String name;
@@ -14,6 +14,8 @@ public final class FileConstant {
     public static final String SYSTEM_DIRECTORY = System.getProperty("user.dir");
     public static final String REPORT_FOLDER = SYSTEM_DIRECTORY + File.separator + "target/report";
     public static final String REPORT_PATH = REPORT_FOLDER + File.separator + "%s/Automation.html";
+    public static final String REPORT_JOURNAL_FILE = "journal.jsonl";
+    public static final String RESULT_SHARD_FILE = "result-shard.jsonl";
     public static final String HTML_CONTENT_PATH = SYSTEM_DIRECTORY + File.separator + "/src/main/resources/htmlContent";
 
 }
@@ -0,0 +1,69 @@
+package org.roopesh.fixtures;
+
+import io.appium.java_client.AppiumDriver;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.openqa.selenium.remote.SessionId;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.roopesh.appium.AppiumDriverManager.driver;
+
+/**
+ * Marks the Appium sessions on which the app is logged in, and with which account.
+ * <p>
+ * The marker is set by {@link LoginFlow} once a login completes and lives as long as the session; it is dropped
+ * when the driver is destroyed.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class AuthenticatedSession {
+    private static final Map<SessionId, String> AUTHENTICATED_SESSIONS = new ConcurrentHashMap<>();
+
+    /**
+     * Returns whether the session of the current thread is logged in with the given account.
+     *
+     * @param clientID the client id of the account
+     * @return true if the session holds the marker of the account
+     */
+    public static boolean isAuthenticated(String clientID) {
+        SessionId sessionId = currentSessionId();
+        return sessionId != null && clientID.equals(AUTHENTICATED_SESSIONS.get(sessionId));
+    }
+
+    /**
+     * Marks the session of the current thread as logged in with the given account.
+     *
+     * @param clientID the client id of the account
+     */
+    public static void mark(String clientID) {
+        SessionId sessionId = currentSessionId();
+        if (sessionId != null) {
+            AUTHENTICATED_SESSIONS.put(sessionId, clientID);
+        }
+    }
+
+    /**
+     * Removes the marker of the session of the current thread.
+     */
+    public static void invalidate() {
+        SessionId sessionId = currentSessionId();
+        if (sessionId != null) {
+            forget(sessionId);
+        }
+    }
+
+    /**
+     * Removes the marker of a session that is being destroyed.
+     *
+     * @param sessionId the id of the session
+     */
+    public static void forget(SessionId sessionId) {
+        AUTHENTICATED_SESSIONS.remove(sessionId);
+    }
+
+    private static SessionId currentSessionId() {
+        AppiumDriver driver = driver();
+        return driver == null ? null : driver.getSessionId();
+    }
+}
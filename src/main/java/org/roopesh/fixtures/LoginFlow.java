@@ -0,0 +1,97 @@
+package org.roopesh.fixtures;
+
+import org.roopesh.BasePage;
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+import org.roopesh.actions.Actions;
+import org.roopesh.actions.WaitForElement;
+import org.roopesh.pageTestData.LoginData;
+import org.roopesh.pages.HomePage;
+import org.roopesh.pages.LoginPage;
+import utilities.otp.OtpClient;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.openqa.selenium.support.ui.ExpectedConditions.or;
+import static org.openqa.selenium.support.ui.ExpectedConditions.visibilityOfElementLocated;
+import static utilities.reports.ExtentReportController.logInfo;
+import static utilities.reports.ExtentReportController.logPass;
+
+/**
+ * Logs into the app with the account of the current test.
+ * <p>
+ * {@link #ensureLoggedIn()} is the fixture for the tests that need a logged-in user: the login is only performed
+ * when the session holds no {@link AuthenticatedSession} marker for the account, or when the app does not settle on
+ * the home screen despite the marker.
+ */
+public class LoginFlow extends BasePage {
+
+    /**
+     * Logs in unless the session is already logged in with the account of the current test.
+     *
+     * @return true if the login was performed, false if the login of the session was reused
+     */
+    public boolean ensureLoggedIn() {
+        LoginData loginData = getPage(LoginData.class);
+        LoginPage loginPage = getPage(LoginPage.class);
+        if (AuthenticatedSession.isAuthenticated(loginData.getClientID()) && isHomeScreenShown(loginPage)) {
+            logInfo("Reusing the login of " + loginData.getClientID() + " on this session");
+            return false;
+        }
+        login();
+        return true;
+    }
+
+    /**
+     * Waits for the relaunched app to settle on the home screen or the launch screen, and tells which one it shows.
+     * A freshly activated app shows neither for a moment, so the launch screen being absent says nothing.
+     *
+     * @param loginPage the login page of the session
+     * @return true if the home screen is shown, false if the launch screen is shown or neither shows up in time
+     */
+    private boolean isHomeScreenShown(LoginPage loginPage) {
+        By homeTab = getPage(HomePage.class).getHomeTab();
+        try {
+            WaitForElement.waitCondition(or(visibilityOfElementLocated(homeTab), visibilityOfElementLocated(loginPage.getGetStarted())));
+        } catch (TimeoutException e) {
+            return false;
+        }
+        return isElementPresent(homeTab);
+    }
+
+    /**
+     * Logs in from the launch screen and marks the session as logged in.
+     * <p>
+     * The OTP unblock of the account is started first and only joined when the OTP is entered.
+     */
+    public void login() {
+        LoginPage loginPage = getPage(LoginPage.class);
+        LoginData loginData = getPage(LoginData.class);
+        Actions actions = getPage(Actions.class);
+        AuthenticatedSession.invalidate();
+        CompletableFuture<String> otp = OtpClient.getInstance().unblock(loginData.getClientID())
+                .handle((_, _) -> loginData.getOtp());
+        actions.tapIfPresent(loginPage.getInAppCloseButton());
+        actions.tapOn(loginPage.getGetStarted());
+        logPass("Clicked on Getting Started");
+        actions.tapOn(loginPage.getContinueButton());
+        logPass("Continue Clicked");
+        actions.tapOn(loginPage.getContinueButton());
+        logPass("Continue Clicked");
+        actions.tapIfPresent(loginPage.getAlertHandler());
+        actions.sendValues(loginPage.getEnterNumber(), loginData.getMobileNumber());
+        logPass("Mobile Number Entered");
+        actions.tapOn(loginPage.getContinueButton());
+        logPass("Continue Clicked");
+        actions.tapOn(loginPage.getSendOTPButton());
+        actions.sendValues(loginPage.getEnterNumber(), otp);
+        logPass("OTP Entered");
+        actions.sendValues(loginPage.getEnterNumber(), loginData.getPin());
+        logPass("4 digit pin is entered");
+        actions.tapIfPresent(loginPage.getIUnderstandButton());
+        actions.tapIfPresent(loginPage.getLaterButton());
+        actions.tapIfPresent(loginPage.getCloseButton());
+        AuthenticatedSession.mark(loginData.getClientID());
+        logPass("Logged into the application successfully");
+    }
+}
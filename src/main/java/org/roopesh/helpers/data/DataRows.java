@@ -0,0 +1,125 @@
+package org.roopesh.helpers.data;
+
+import org.roopesh.config.Config;
+import org.roopesh.config.Config.ConfigProperty;
+import org.roopesh.helpers.FileHelper;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Predicate;
+
+/**
+ * Streams the rows of a JSON-lines or CSV file under {@code testDataDirectory} into a TestNG data provider.
+ * <p>
+ * Every row is bound to the given type as it is read, so with a sequential data provider the dataset is never held
+ * in memory as a whole. Rows can be filtered and split in shards by their index in the file, which keeps every fork
+ * on a disjoint part of the matrix.
+ * <p>
+ * A {@code @DataProvider(parallel = true)} does not stream: TestNG drains the whole iterator and queues one
+ * invocation per row before the first one runs, so every row of the shard is held in memory. Run the rows in
+ * parallel with {@code dataShardCount} and one fork or agent per shard instead, each streaming its own shard.
+ * Example:
+ * <pre>{@code
+ * public record OrderRow(String symbol, String orderType, int quantity) {
+ * }
+ *
+ * @DataProvider
+ * public Iterator<Object[]> orders() {
+ *     return DataRows.from("orders.jsonl", OrderRow.class)
+ *             .filter(row -> row.quantity() > 0)
+ *             .shardFromConfig()
+ *             .iterator();
+ * }}</pre>
+ * A CSV file starts with a header line naming the record components; a JSON-lines file holds one JSON object per
+ * line. Blank lines and lines starting with {@code #} are skipped in both.
+ *
+ * @param <T> the type each row is bound to
+ */
+public final class DataRows<T> {
+    private final String fileName;
+    private final Class<T> type;
+    private Predicate<? super T> filter = _ -> true;
+    private int shardIndex;
+    private int shardCount = 1;
+
+    private DataRows(String fileName, Class<T> type) {
+        this.fileName = fileName;
+        this.type = type;
+    }
+
+    /**
+     * Starts reading the given file of the {@code testDataDirectory}.
+     *
+     * @param fileName the {@code .jsonl} or {@code .csv} file name
+     * @param type     the record or class each row is bound to
+     * @param <T>      the type each row is bound to
+     * @return the rows of the file
+     */
+    public static <T> DataRows<T> from(String fileName, Class<T> type) {
+        if (!fileName.endsWith(".jsonl") && !fileName.endsWith(".csv")) {
+            throw new IllegalArgumentException(fileName + " is neither a .jsonl nor a .csv file");
+        }
+        return new DataRows<>(fileName, type);
+    }
+
+    /**
+     * Keeps only the rows matching the given predicate.
+     *
+     * @param filter the predicate the rows have to match
+     * @return these rows
+     */
+    public DataRows<T> filter(Predicate<? super T> filter) {
+        Predicate<? super T> previous = this.filter;
+        this.filter = row -> previous.test(row) && filter.test(row);
+        return this;
+    }
+
+    /**
+     * Keeps only the rows of the given shard, the row at index {@code i} of the file belongs to shard
+     * {@code i % shardCount}.
+     *
+     * @param shardIndex the shard to keep, from 0 to {@code shardCount - 1}
+     * @param shardCount the number of shards
+     * @return these rows
+     */
+    public DataRows<T> shard(int shardIndex, int shardCount) {
+        if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("Invalid shard " + shardIndex + " of " + shardCount);
+        }
+        this.shardIndex = shardIndex;
+        this.shardCount = shardCount;
+        return this;
+    }
+
+    /**
+     * Keeps only the rows of the shard given by {@code dataShardIndex} and {@code dataShardCount}, read from the
+     * system properties first and from the config otherwise.
+     *
+     * @return these rows
+     */
+    public DataRows<T> shardFromConfig() {
+        return shard(Integer.parseInt(shardProperty(ConfigProperty.DATA_SHARD_INDEX)),
+                Integer.parseInt(shardProperty(ConfigProperty.DATA_SHARD_COUNT)));
+    }
+
+    /**
+     * Opens the file and returns the rows as TestNG data provider parameters, one row per invocation.
+     * <p>
+     * The file is read as the iterator advances and closed once the last row is returned. The rows are only streamed
+     * by a sequential data provider, a parallel one reads them all up front.
+     *
+     * @return the iterator of the single parameter arrays
+     */
+    public Iterator<Object[]> iterator() {
+        String path = String.format("%s/%s", Config.getConfigProperty(ConfigProperty.TESTDATA_DIRECTORY), fileName);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(FileHelper.loadFile(path), StandardCharsets.UTF_8));
+        RowReader<T> rowReader = fileName.endsWith(".csv") ? RowReader.csv(type) : RowReader.jsonLines(type);
+        return new RowIterator<>(path, reader, rowReader, filter, shardIndex, shardCount);
+    }
+
+    private static String shardProperty(ConfigProperty property) {
+        return System.getProperty(property.getName(), Config.getConfigProperty(property)).trim();
+    }
+}
@@ -0,0 +1,110 @@
+package org.roopesh.helpers.data;
+
+import com.google.gson.JsonParseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * Reads the rows of a data file one line ahead of the data provider, and closes the file after the last row.
+ *
+ * @param <T> the type each row is bound to
+ */
+final class RowIterator<T> implements Iterator<Object[]>, AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RowIterator.class);
+
+    private final String path;
+    private final BufferedReader reader;
+    private final RowReader<T> rowReader;
+    private final Predicate<? super T> filter;
+    private final int shardIndex;
+    private final int shardCount;
+    private long lineNumber;
+    private long rowIndex;
+    private T next;
+    private boolean closed;
+
+    RowIterator(String path, BufferedReader reader, RowReader<T> rowReader, Predicate<? super T> filter,
+                int shardIndex, int shardCount) {
+        this.path = path;
+        this.reader = reader;
+        this.rowReader = rowReader;
+        this.filter = filter;
+        this.shardIndex = shardIndex;
+        this.shardCount = shardCount;
+    }
+
+    @Override
+    public synchronized boolean hasNext() {
+        if (next == null && !closed) {
+            next = advance();
+        }
+        return next != null;
+    }
+
+    @Override
+    public synchronized Object[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException(path + " has no more rows");
+        }
+        T row = next;
+        next = null;
+        return new Object[]{row};
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            reader.close();
+        } catch (IOException e) {
+            LOGGER.debug("Unable to close {}", path, e);
+        }
+    }
+
+    private T advance() {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                if (rowReader.isHeader()) {
+                    rowReader.read(line);
+                    continue;
+                }
+                if (rowIndex++ % shardCount != shardIndex) {
+                    continue;
+                }
+                T row = bind(line);
+                if (filter.test(row)) {
+                    return row;
+                }
+            }
+            close();
+            return null;
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException("Unable to read " + path, e);
+        }
+    }
+
+    private T bind(String line) {
+        try {
+            return rowReader.read(line);
+        } catch (JsonParseException | IllegalArgumentException e) {
+            close();
+            throw new IllegalArgumentException("Invalid row at " + path + ":" + lineNumber, e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.roopesh.helpers.data;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binds the lines of a data file to the row type.
+ *
+ * @param <T> the type each row is bound to
+ */
+abstract class RowReader<T> {
+    private static final Gson GSON = new Gson();
+
+    final Class<T> type;
+
+    private RowReader(Class<T> type) {
+        this.type = type;
+    }
+
+    static <T> RowReader<T> jsonLines(Class<T> type) {
+        return new RowReader<>(type) {
+            @Override
+            boolean isHeader() {
+                return false;
+            }
+
+            @Override
+            T read(String line) {
+                return GSON.fromJson(line, type);
+            }
+        };
+    }
+
+    static <T> RowReader<T> csv(Class<T> type) {
+        return new RowReader<>(type) {
+            private List<String> header;
+
+            @Override
+            boolean isHeader() {
+                return header == null;
+            }
+
+            @Override
+            T read(String line) {
+                List<String> values = splitCsv(line);
+                if (header == null) {
+                    header = values.stream().map(String::trim).toList();
+                    return null;
+                }
+                if (values.size() != header.size()) {
+                    throw new IllegalArgumentException("Expected " + header.size() + " columns but found " + values.size());
+                }
+                JsonObject row = new JsonObject();
+                for (int i = 0; i < header.size(); i++) {
+                    row.addProperty(header.get(i), values.get(i));
+                }
+                return GSON.fromJson(row, type);
+            }
+        };
+    }
+
+    /**
+     * Returns whether the next line is a header rather than a row.
+     *
+     * @return true if the next line is read as the header
+     */
+    abstract boolean isHeader();
+
+    /**
+     * Binds a line to the row type.
+     *
+     * @param line the line of the file
+     * @return the row, or null if the line is the header
+     */
+    abstract T read(String line);
+
+    /**
+     * Splits a CSV line on commas. Values may be quoted, a doubled quote inside a quoted value is a quote.
+     */
+    static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
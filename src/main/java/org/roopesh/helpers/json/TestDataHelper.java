@@ -16,8 +16,17 @@ public class TestDataHelper {
      * @return {@link TestData} Page instance it store all the testData
      */
     public static TestData getJSONData(Object object) {
+        return getJSONData(object.getClass().getSimpleName());
+    }
+
+    /**
+     * It is used to initialize testData that are declared in the json file.
+     *
+     * @param pathName the name of the json File to be accessed, without extension
+     * @return {@link TestData} Page instance it store all the testData
+     */
+    public static TestData getJSONData(String pathName) {
         Gson gson = new Gson();
-        String pathName = object.getClass().getSimpleName();
         InputStreamReader fileInputStream = new InputStreamReader(FileHelper.loadFile(String.format("%s/%s.json", Config.getConfigProperty(Config.ConfigProperty.TESTDATA_DIRECTORY), pathName)));
         TestData page = gson.fromJson(fileInputStream, TestData.class);
         try {
@@ -0,0 +1,91 @@
+package org.roopesh.helpers.locators;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.roopesh.customExceptions.PageElementException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A {@link By} locator of a page that is only resolved from the yaml file of the page on first use.
+ * <p>
+ * The resolved locator is cached per platform. The locators of a page are loaded at most once, shared by every
+ * {@link LazyLocator} of that page, and only when one of them is first used. The locator is registered with its name
+ * every time it is sent to the driver, so a flight recording started after the first use still names it.
+ */
+public final class LazyLocator extends By implements By.Remotable {
+    private final String key;
+    private final String platform;
+    private final Supplier<Locators> locators;
+    private final Map<String, By> resolved = new ConcurrentHashMap<>(2);
+
+    LazyLocator(String key, String platform, Supplier<Locators> locators) {
+        this.key = key;
+        this.platform = platform;
+        this.locators = locators;
+    }
+
+    /**
+     * Method to get the locator name in the yaml file of the page.
+     *
+     * @return {@link String} locator name.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Method to get the locator resolved for the platform of the run.
+     *
+     * @return {@link By} By type locator.
+     */
+    public By resolve() {
+        return resolve(platform);
+    }
+
+    /**
+     * Method to get the locator resolved for the given platform.
+     *
+     * @param platform {@link String} platform name.
+     * @return {@link By} By type locator.
+     */
+    public By resolve(String platform) {
+        By locator = resolved.get(platform);
+        if (locator == null) {
+            locator = locators.get().get(key, platform);
+            if (locator == null) {
+                throw new PageElementException(String.format("%s locator has an unsupported type for %s platform", key, platform));
+            }
+            resolved.putIfAbsent(platform, locator);
+        }
+        return locator;
+    }
+
+    @Override
+    public Parameters getRemoteParameters() {
+        By locator = Locators.register(key, resolve());
+        if (locator instanceof By.Remotable remotable) {
+            return remotable.getRemoteParameters();
+        }
+        throw new UnsupportedOperationException(key + " locator cannot be sent to the remote end");
+    }
+
+    @Override
+    public WebElement findElement(SearchContext context) {
+        return resolve().findElement(context);
+    }
+
+    @Override
+    public List<WebElement> findElements(SearchContext context) {
+        return resolve().findElements(context);
+    }
+
+    @Override
+    public String toString() {
+        return resolve().toString();
+    }
+}
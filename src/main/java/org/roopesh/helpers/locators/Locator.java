@@ -0,0 +1,27 @@
+package org.roopesh.helpers.locators;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@link org.openqa.selenium.By} field of a page to be injected by {@link LocatorInjector}.
+ * Example:
+ * <pre>{@code
+ * @Locator("getStarted")
+ * private By getStarted;}</pre>
+ * The locator is looked up in the yaml file named after the class declaring the field, and is only resolved on
+ * first use.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Locator {
+
+    /**
+     * @return the locator name in the yaml file of the page
+     */
+    String value();
+}
@@ -0,0 +1,96 @@
+package org.roopesh.helpers.locators;
+
+import com.google.common.base.Suppliers;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.openqa.selenium.By;
+import org.roopesh.config.Config;
+import org.roopesh.config.Config.ConfigProperty;
+import org.roopesh.customExceptions.PageElementException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Injects the {@link Locator} annotated fields of a page.
+ * Example:
+ * <pre>{@code
+ * public class LoginPage extends BasePage {
+ *     @Locator("getStarted")
+ *     private By getStarted;
+ * }}</pre>
+ * The fields of each page class are scanned once, and a setter {@link MethodHandle} and a {@link LazyLocator} are
+ * kept for each of them. Injecting a page only assigns those shared locators, so creating a page neither reads its
+ * yaml file nor resolves a locator; the yaml file of a page class is loaded once, when one of its locators is first
+ * used. The {@link org.roopesh.PageRegistry} injects every page it creates, once the page is fully constructed.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class LocatorInjector {
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, By.class);
+    private static final ClassValue<List<Binding>> BINDINGS = new ClassValue<>() {
+        @Override
+        protected List<Binding> computeValue(Class<?> type) {
+            return bindings(type);
+        }
+    };
+
+    /**
+     * Method to inject the {@link Locator} annotated fields of the given page and of its super classes.
+     *
+     * @param page {@link Object} page to inject.
+     */
+    public static void inject(Object page) {
+        for (Binding binding : BINDINGS.get(page.getClass())) {
+            try {
+                binding.setter().invokeExact(page, (By) binding.locator());
+            } catch (Throwable e) {
+                throw new PageElementException(String.format("Unable to inject %s locator in %s", binding.locator().getKey(),
+                        page.getClass().getSimpleName()), e);
+            }
+        }
+    }
+
+    private static List<Binding> bindings(Class<?> type) {
+        List<Binding> bindings = new ArrayList<>();
+        if (type.getSuperclass() != null) {
+            bindings.addAll(BINDINGS.get(type.getSuperclass()));
+        }
+        Supplier<Locators> locators = null;
+        for (Field field : type.getDeclaredFields()) {
+            Locator annotation = field.getAnnotation(Locator.class);
+            if (annotation == null) {
+                continue;
+            }
+            if (field.getType() != By.class || Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+                throw new PageElementException(String.format("%s.%s must be a non-final, non-static By field to be injected",
+                        type.getSimpleName(), field.getName()));
+            }
+            if (locators == null) {
+                locators = Suppliers.memoize(() -> LocatorHelper.getLocators(type.getSimpleName() + ".yaml"));
+            }
+            try {
+                MethodHandle setter = MethodHandles.privateLookupIn(type, MethodHandles.lookup()).unreflectSetter(field).asType(SETTER_TYPE);
+                bindings.add(new Binding(setter, new LazyLocator(annotation.value(), Platform.NAME, locators)));
+            } catch (IllegalAccessException e) {
+                throw new PageElementException(e);
+            }
+        }
+        return List.copyOf(bindings);
+    }
+
+    private record Binding(MethodHandle setter, LazyLocator locator) {
+    }
+
+    /**
+     * The platform of the run, read once when the first page with locators is scanned.
+     */
+    private static final class Platform {
+        private static final String NAME = Config.getConfigProperty(ConfigProperty.PLATFORM);
+    }
+}
@@ -11,6 +11,7 @@ import org.roopesh.customExceptions.PageElementException;
 import org.openqa.selenium.By;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import utilities.jfr.FrameworkEvents;
 
 import java.text.MessageFormat;
 import java.util.Map;
@@ -33,6 +34,7 @@ import java.util.concurrent.ConcurrentHashMap;
 @Data
 public class Locators {
     private static final Logger LOGGER = LoggerFactory.getLogger(Locators.class);
+    private static final Map<String, String> LOCATOR_KEYS = new ConcurrentHashMap<>();
 
     private final Map<String, Map<String, Map<String, String>>> elements = new ConcurrentHashMap<>();
 
@@ -102,11 +104,12 @@ public class Locators {
      * @return {@link By} By type locator.
      */
     public By get(String key, String platform) {
-        return resolveByType(getStringLocator(key, platform));
+        return register(key, resolveByType(getStringLocator(key, platform)));
     }
 
     /**
      * Method to get the By type locator with a given name, platform and addition String values.
+     * The formatted locator is not named in the flight recorder events, as every value gives a different locator.
      * Example:
      * <pre>{@code
      * Locator locator=LocatorHelper.getLocators("LoginPage.yaml");
@@ -139,6 +142,53 @@ public class Locators {
         return get(key, platform);
     }
 
+    /**
+     * Method to get the name of the locator a By type locator was resolved from.
+     *
+     * @param locator {@link By} locator returned by one of the get methods.
+     * @return {@link String} locator name, or null if the locator was not resolved by a {@link Locators}.
+     */
+    public static String keyOf(By locator) {
+        if (locator instanceof LazyLocator lazyLocator) {
+            return lazyLocator.getKey();
+        }
+        return locator == null ? null : LOCATOR_KEYS.get(signature(locator));
+    }
+
+    /**
+     * Method to get the name of the locator a find element command was sent for.
+     *
+     * @param using {@link String} locator strategy of the command.
+     * @param value locator value of the command.
+     * @return {@link String} locator name, or null if the locator was not resolved by a {@link Locators}.
+     */
+    public static String keyOf(String using, Object value) {
+        return LOCATOR_KEYS.get(using + "=" + value);
+    }
+
+    /**
+     * Remembers the name of the locator for the flight recorder events. Nothing is kept while no recording has
+     * those events enabled.
+     *
+     * @param key     {@link String} locator name.
+     * @param locator {@link By} resolved locator.
+     * @return {@link By} the given locator.
+     */
+    static By register(String key, By locator) {
+        if (locator != null && FrameworkEvents.recordsLocatorKeys()) {
+            LOCATOR_KEYS.put(signature(locator), key);
+        }
+        return locator;
+    }
+
+    private static String signature(By locator) {
+        if (locator instanceof By.Remotable remotable) {
+            By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+            return parameters.using() + "=" + parameters.value();
+        }
+        return locator.toString();
+    }
+
     /**
      * Method to resolve the By class and return the generic By type.
      * Example:
@@ -4,6 +4,8 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import org.roopesh.BasePage;
+import org.roopesh.accounts.AccountLeasePool;
+import org.roopesh.accounts.TestAccount;
 import org.roopesh.helpers.json.TestData;
 import org.roopesh.helpers.json.TestDataHelper;
 
@@ -19,7 +21,19 @@ public class LoginData extends BasePage {
     private final String pin;
     private final String clientID;
 
+    /**
+     * Reads the account leased by the current test from the {@link AccountLeasePool}, or the shared
+     * {@code userData} when the test holds no lease.
+     */
     public LoginData() {
+        TestAccount account = AccountLeasePool.current();
+        if (account != null) {
+            mobileNumber = account.mobileNumber();
+            otp = account.otp();
+            pin = account.pin();
+            clientID = account.clientID();
+            return;
+        }
         TestData testData = TestDataHelper.getJSONData(this);
         Map<String, String> userData = testData.getTestData().get("userData");
         mobileNumber = userData.get("mobileNumber");
@@ -0,0 +1,15 @@
+package org.roopesh.pages;
+
+
+import lombok.Getter;
+import org.roopesh.BasePage;
+import org.roopesh.helpers.locators.Locator;
+import org.openqa.selenium.By;
+
+@Getter
+public class HomePage extends BasePage {
+
+    @Locator("homeTab")
+    private By homeTab;
+
+}
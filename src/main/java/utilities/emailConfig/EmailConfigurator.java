@@ -81,5 +81,15 @@ public class EmailConfigurator {
         return Config.getConfigProperty(ConfigProperty.SMTP_CONNECTION_TIMEOUT);
     }
 
+    public static long getAttachmentMaxSizeBytes() {
+        return Long.parseLong(Config.getConfigProperty(ConfigProperty.EMAIL_ATTACHMENT_MAX_SIZE).trim()) * 1024 * 1024;
+    }
+
+    public static int getRetryCount() {
+        return Integer.parseInt(Config.getConfigProperty(ConfigProperty.EMAIL_RETRY_COUNT).trim());
+    }
 
+    public static long getShutdownTimeoutSeconds() {
+        return Long.parseLong(Config.getConfigProperty(ConfigProperty.EMAIL_SHUTDOWN_TIMEOUT).trim());
+    }
 }
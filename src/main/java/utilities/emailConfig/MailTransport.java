@@ -0,0 +1,29 @@
+package utilities.emailConfig;
+
+import javax.mail.MessagingException;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+
+/**
+ * Sends the email report built by the {@link Mailer}.
+ * <p>
+ * The default transport hands the message to the SMTP server of its session. Pointing {@code smtpHost} and
+ * {@code smtpPort} at a local SMTP stand-in, or replacing the transport with {@link Mailer#setTransport(MailTransport)},
+ * lets the delivery be checked without a real mail server.
+ */
+@FunctionalInterface
+public interface MailTransport {
+
+    /**
+     * The default transport, sends the message through {@link Transport#send(javax.mail.Message)}.
+     */
+    MailTransport SMTP = Transport::send;
+
+    /**
+     * Sends the given message.
+     *
+     * @param message the message to send
+     * @throws MessagingException if the message could not be sent
+     */
+    void send(MimeMessage message) throws MessagingException;
+}
@@ -4,7 +4,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
-import org.apache.velocity.app.Velocity;
+import org.apache.velocity.app.VelocityEngine;
 import org.roopesh.constants.FileConstant;
 import org.roopesh.customExceptions.PageElementException;
 
@@ -13,12 +13,22 @@ import javax.mail.internet.InternetAddress;
 import javax.mail.internet.MimeBodyPart;
 import javax.mail.internet.MimeMessage;
 import javax.mail.internet.MimeMultipart;
-import java.io.File;
-import java.io.FileWriter;
+import java.io.IOException;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Year;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 
 public class Mailer {
@@ -36,11 +46,28 @@ public class Mailer {
     private static final String POP3_SOCKET_FACTORY_FALLBACK = "mail.pop3.socketFactory.fallback";
     private static final String SMTP_CONNECTION_TIMEOUT = "mail.smtp.connectiontimeout";
     private static final String MAIL_SMTP_PROTOCOLS = "mail.smtp.ssl.protocols";
+    private static final String EMAIL_CONTENT_FILE = "email-report.html";
+    private static final long RETRY_BACKOFF_MILLIS = 5000;
     private static final Logger log = LogManager.getLogger(Mailer.class);
+    private static final ExecutorService DELIVERY_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "email-delivery");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static volatile MailTransport transport = MailTransport.SMTP;
     private static Session session;
 
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(
+                () -> awaitDelivery(EmailConfigurator.getShutdownTimeoutSeconds(), TimeUnit.SECONDS), "email-delivery-shutdown"));
+    }
+
     /**
      * Send an email with a report attached.
+     * <p>
+     * The mail content is rendered on the calling thread, the report is zipped and delivered on a background thread,
+     * retrying up to {@code emailRetryCount} times. A pending delivery is awaited for at most
+     * {@code emailShutdownTimeoutSeconds} when the JVM shuts down.
      *
      * @param suiteName              The name of the test suite.
      * @param executionTime          The execution time of the test suite.
@@ -53,44 +80,139 @@ public class Mailer {
      * @param moduleWiseTestCount    The list of module wise test count.
      * @param summaryCount           The list of summary count.
      * @param automationSummaryCount The list of automation summary count.
+     * @return the pending delivery
      */
-    public static void sendEmail(String suiteName, String testRunName, String executionTime, int totalTests, int passedTests, int failedTests, int skippedTest, List<String> failedTestCases, List<String> skippedTestcases, List<Object> moduleWiseTestCount, List<List<Object>> summaryCount, List<Object> automationSummaryCount) {
+    public static Future<?> sendEmail(String suiteName, String testRunName, String executionTime, int totalTests, int passedTests, int failedTests, int skippedTest, List<String> failedTestCases, List<String> skippedTestcases, List<Object> moduleWiseTestCount, List<List<Object>> summaryCount, List<Object> automationSummaryCount) {
+        String content = createMailContent(suiteName, testRunName, executionTime, totalTests, passedTests, failedTests, skippedTest, failedTestCases, skippedTestcases, moduleWiseTestCount, summaryCount, automationSummaryCount);
+        String reportPath = System.getProperty("automationReportPath");
+        String reportDate = System.getProperty("automationReportDate");
+        return DELIVERY_EXECUTOR.submit(() -> deliver(suiteName, content, reportPath, reportDate));
+    }
+
+    /**
+     * Replaces the transport used to deliver the email, e.g. with a local stand-in.
+     *
+     * @param mailTransport the transport to use
+     */
+    public static void setTransport(MailTransport mailTransport) {
+        transport = mailTransport;
+    }
+
+    /**
+     * Waits for the pending email deliveries. No email can be sent afterwards.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of the timeout
+     * @return true if every delivery finished within the timeout, otherwise false
+     */
+    public static boolean awaitDelivery(long timeout, TimeUnit unit) {
+        DELIVERY_EXECUTOR.shutdown();
+        try {
+            boolean delivered = DELIVERY_EXECUTOR.awaitTermination(timeout, unit);
+            if (!delivered) {
+                log.error("Email delivery did not finish within {} {}", timeout, unit);
+            }
+            return delivered;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void deliver(String suiteName, String content, String reportPath, String reportDate) {
         createEmailSession();
+        Path archive = null;
         try {
-            String reportPath = System.getProperty("automationReportPath");
-            File htmlReport = new File(reportPath);
             MimeMessage message = new MimeMessage(session);
             message.setFrom(new InternetAddress(EmailConfigurator.getFrom(), "Automation Team"));
             message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(EmailConfigurator.getRecepientList()));
             message.setRecipients(Message.RecipientType.CC, InternetAddress.parse(EmailConfigurator.getCCList()));
             message.setSubject(suiteName);
 
-            // Attach the report file
-            MimeBodyPart attachment = new MimeBodyPart();
-            attachment.attachFile(new File(reportPath));
-            attachment.setFileName("Mobile Automation Report_" + System.getProperty("automationReportDate") + ".html");
-
-            // Create a multipart message
             Multipart multipart = new MimeMultipart();
-            multipart.addBodyPart(attachment);
+            archive = archiveReport(reportPath);
+            if (archive != null) {
+                MimeBodyPart attachment = new MimeBodyPart();
+                attachment.attachFile(archive.toFile());
+                attachment.setFileName("Mobile Automation Report_" + reportDate + ".zip");
+                multipart.addBodyPart(attachment);
+            }
             MimeBodyPart htmlPart = new MimeBodyPart();
-            htmlPart.setContent(createMailContent(suiteName, testRunName, executionTime, totalTests, passedTests, failedTests, skippedTest, failedTestCases, skippedTestcases, moduleWiseTestCount, summaryCount, automationSummaryCount), "text/html");
+            htmlPart.setContent(content, "text/html");
             multipart.addBodyPart(htmlPart);
+            message.setContent(multipart);
 
-            // Set the message content
-            if (htmlReport.exists()) {
-                System.out.println(reportPath);
+            send(message);
+        } catch (MessagingException | IOException e) {
+            log.error("Unable to build the email report", e);
+        } finally {
+            if (archive != null) {
+                try {
+                    Files.deleteIfExists(archive);
+                } catch (IOException e) {
+                    log.debug("Unable to delete {}", archive, e);
+                }
             }
-            message.setContent(multipart);
-            log.info("Attempting to attach report from: {}", reportPath);
+        }
+    }
 
-            Transport.send(message);
-        } catch (MessagingException me) {
-            throw new RuntimeException("Error sending email", me);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+    private static void send(MimeMessage message) {
+        int attempts = Math.max(1, EmailConfigurator.getRetryCount());
+        for (int attempt = 1; attempt <= attempts; attempt++) {
+            try {
+                transport.send(message);
+                log.info("Email report sent on attempt {}", attempt);
+                return;
+            } catch (MessagingException e) {
+                log.warn("Email delivery attempt {} of {} failed: {}", attempt, attempts, e.getMessage());
+                if (attempt == attempts) {
+                    log.error("Email report could not be delivered", e);
+                    return;
+                }
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MILLIS << (attempt - 1));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
         }
+    }
 
+    /**
+     * Zips the report folder, without the report journal.
+     *
+     * @param reportPath the path of the HTML report
+     * @return the archive, or null if there is no report or the archive exceeds {@code emailAttachmentMaxSizeMb}
+     * @throws IOException if the report cannot be read or the archive cannot be written
+     */
+    private static Path archiveReport(String reportPath) throws IOException {
+        if (reportPath == null || !Files.exists(Paths.get(reportPath))) {
+            log.warn("No report found at {}, sending the summary only", reportPath);
+            return null;
+        }
+        Path reportDirectory = Paths.get(reportPath).toAbsolutePath().getParent();
+        Path archive = Files.createTempFile("automation-report", ".zip");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(archive));
+             Stream<Path> files = Files.walk(reportDirectory)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                String fileName = file.getFileName().toString();
+                if (fileName.equals(FileConstant.REPORT_JOURNAL_FILE) || fileName.equals(EMAIL_CONTENT_FILE)) {
+                    continue;
+                }
+                zip.putNextEntry(new ZipEntry(reportDirectory.relativize(file).toString().replace('\\', '/')));
+                Files.copy(file, zip);
+                zip.closeEntry();
+            }
+        }
+        long size = Files.size(archive);
+        if (size > EmailConfigurator.getAttachmentMaxSizeBytes()) {
+            log.warn("Zipped report is {} bytes, above the attachment limit, sending the summary only", size);
+            Files.deleteIfExists(archive);
+            return null;
+        }
+        log.info("Attaching the zipped report of {} bytes from {}", size, reportDirectory);
+        return archive;
     }
 
     /**
@@ -118,7 +240,7 @@ public class Mailer {
         emailProperties.put(MAIL_SMTP_PROTOCOLS, EmailConfigurator.getSSLProtocols());
         emailProperties.put(SMTP_CONNECTION_TIMEOUT, EmailConfigurator.getSMTPConnectionTimeout());
 
-        session = Session.getDefaultInstance(emailProperties, new javax.mail.Authenticator() {
+        session = Session.getInstance(emailProperties, new javax.mail.Authenticator() {
             @Override
             protected javax.mail.PasswordAuthentication getPasswordAuthentication() {
                 return new PasswordAuthentication(EmailConfigurator.getUsername(), EmailConfigurator.getPassword());
@@ -129,7 +251,7 @@ public class Mailer {
     /**
      * Generate an HTML email report using a Velocity template.
      * <p>
-     * The template is loaded from a file named {@code mailReport.vm} in the
+     * The template is loaded once from a file named {@code mailReport.vm} in the
      * {@link FileConstant#HTML_CONTENT_PATH} directory. The following data is merged
      * into the template:
      * <p> Parameters: </p>
@@ -151,16 +273,11 @@ public class Mailer {
      * </ul>
      * <p>
      * The generated HTML is returned as a string and can be used as the content of
-     * an email message.
+     * an email message. A copy is written next to the report.
      */
     public static String createMailContent(String suiteName, String testRunName, String executionTime, int totalTests, int passedTests, int failedTests, int skippedTest, List<String> failedTestcases, List<String> skippedTestcases, List<Object> moduleWiseTestCount, List<List<Object>> summaryCount, List<Object> automationSummaryCount) {
         int currentYear = Year.now().getValue();
-        Properties properties = new Properties();
-        properties.setProperty("resource.loader", "file");
-        properties.setProperty("file.resource.loader.path", FileConstant.HTML_CONTENT_PATH);
-        Velocity.init(properties);
-
-        Template template = Velocity.getTemplate("mailReport.vm");
+        Template template = TemplateHolder.TEMPLATE;
 
         VelocityContext context = new VelocityContext();
         context.put("suiteName", suiteName);
@@ -180,13 +297,33 @@ public class Mailer {
         StringWriter writer = new StringWriter();
         template.merge(context, writer);
 
-        try (FileWriter fileWriter = new FileWriter("email-template.html")) {
-            fileWriter.write(writer.toString());
-        } catch (Exception e) {
-            throw new PageElementException(e);
+        String reportPath = System.getProperty("automationReportPath");
+        if (reportPath != null) {
+            Path contentFile = Paths.get(reportPath).toAbsolutePath().resolveSibling(EMAIL_CONTENT_FILE);
+            try {
+                Files.writeString(contentFile, writer.toString(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new PageElementException(e);
+            }
         }
 
         return writer.toString();
     }
 
+    /**
+     * Initializes the Velocity engine and parses the mail template once, on first use.
+     */
+    private static final class TemplateHolder {
+        private static final Template TEMPLATE = loadTemplate();
+
+        private static Template loadTemplate() {
+            Properties properties = new Properties();
+            properties.setProperty("resource.loader", "file");
+            properties.setProperty("file.resource.loader.path", FileConstant.HTML_CONTENT_PATH);
+            VelocityEngine engine = new VelocityEngine(properties);
+            engine.init();
+            return engine.getTemplate("mailReport.vm");
+        }
+    }
+
 }
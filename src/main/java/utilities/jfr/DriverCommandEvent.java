@@ -0,0 +1,31 @@
+package utilities.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A single WebDriver command sent to the Appium server.
+ */
+@Name("mobile.automation.DriverCommand")
+@Label("Driver Command")
+@Description("A WebDriver command sent to the Appium server, including the round trip")
+@Category({"Mobile Automation", "Driver"})
+@StackTrace(false)
+public class DriverCommandEvent extends Event {
+    @Label("Command")
+    public String command;
+
+    @Label("Locator Key")
+    @Description("The locator of the element the command looks up or acts on")
+    public String locatorKey;
+
+    @Label("Test Name")
+    public String testName;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,45 @@
+package utilities.jfr;
+
+import jdk.jfr.EventType;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import utilities.reports.TestMetadata;
+
+import java.util.List;
+
+/**
+ * Helpers shared by the JDK Flight Recorder events of the framework.
+ * <p>
+ * The events cost next to nothing while no recording is running. Start the run with
+ * {@code -XX:StartFlightRecording=filename=target/run.jfr,settings=profile} and open the recording in JDK Mission
+ * Control to correlate the sessions, driver commands, waits and gestures with GC, thread contention and I/O.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FrameworkEvents {
+    private static final List<EventType> LOCATOR_EVENTS = List.of(EventType.getEventType(DriverCommandEvent.class),
+            EventType.getEventType(WaitEvent.class), EventType.getEventType(GestureEvent.class));
+
+    /**
+     * Returns whether a running recording has one of the events that carry a locator key enabled.
+     *
+     * @return true if the locator keys are recorded, otherwise false
+     */
+    public static boolean recordsLocatorKeys() {
+        for (EventType eventType : LOCATOR_EVENTS) {
+            if (eventType.isEnabled()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the name of the test running on the current thread.
+     *
+     * @return the test name, or null outside a test
+     */
+    public static String testName() {
+        TestMetadata test = TestMetadata.current();
+        return test == null ? null : test.moduleName() + "." + test.testName();
+    }
+}
@@ -0,0 +1,30 @@
+package utilities.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A gesture performed through {@code Gestures}.
+ */
+@Name("mobile.automation.Gesture")
+@Label("Gesture")
+@Description("A gesture performed through Gestures")
+@Category({"Mobile Automation", "Gesture"})
+@StackTrace(false)
+public class GestureEvent extends Event {
+    @Label("Gesture")
+    public String gesture;
+
+    @Label("Locator Key")
+    public String locatorKey;
+
+    @Label("Test Name")
+    public String testName;
+
+    @Label("Success")
+    public boolean success;
+}
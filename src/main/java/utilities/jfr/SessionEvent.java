@@ -0,0 +1,34 @@
+package utilities.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Creation or destruction of an Appium session.
+ */
+@Name("mobile.automation.Session")
+@Label("Appium Session")
+@Description("Creation or destruction of an Appium session")
+@Category({"Mobile Automation", "Session"})
+@StackTrace(false)
+public class SessionEvent extends Event {
+    @Label("Action")
+    @Description("create or destroy")
+    public String action;
+
+    @Label("Platform")
+    public String platform;
+
+    @Label("Session Id")
+    public String sessionId;
+
+    @Label("Test Name")
+    public String testName;
+
+    @Label("Success")
+    public boolean success;
+}
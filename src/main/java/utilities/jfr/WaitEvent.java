@@ -0,0 +1,39 @@
+package utilities.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A wait for an element condition.
+ */
+@Name("mobile.automation.Wait")
+@Label("Element Wait")
+@Description("A wait for an element condition")
+@Category({"Mobile Automation", "Wait"})
+@StackTrace(false)
+public class WaitEvent extends Event {
+    @Label("Wait")
+    public String waitName;
+
+    @Label("Condition")
+    public String condition;
+
+    @Label("Timeout")
+    @Timespan(Timespan.SECONDS)
+    public long timeout;
+
+    @Label("Outcome")
+    @Description("met, timeout or error")
+    public String outcome;
+
+    @Label("Locator Key")
+    public String locatorKey;
+
+    @Label("Test Name")
+    public String testName;
+}
@@ -0,0 +1,93 @@
+package utilities.metrics;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.roopesh.config.Config;
+import org.roopesh.config.Config.ConfigProperty;
+import utilities.metrics.MetricsRegistry.Counter;
+import utilities.metrics.MetricsRegistry.Gauge;
+import utilities.metrics.MetricsRegistry.Histogram;
+import utilities.reports.TestMetadata;
+
+/**
+ * The metrics recorded by the framework.
+ * <p>
+ * Test scoped metrics are labelled with the {@code module} and {@code test} of the {@link TestMetadata} running on
+ * the current thread, or {@code none} outside a test. Session metrics are labelled with the {@code platform} of
+ * the run, so the creation and active session series join on the same label.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FrameworkMetrics {
+    private static final String NONE = "none";
+    private static final String PLATFORM = Config.getConfigProperty(ConfigProperty.PLATFORM);
+    private static final double[] SESSION_BUCKETS = {1, 2.5, 5, 10, 20, 30, 60, 120, 300};
+    private static final double[] LATENCY_BUCKETS = {0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60};
+
+    private static final Histogram SESSION_CREATION = MetricsRegistry.histogram("mobile_session_creation_seconds",
+            "Time taken to create an Appium session.", SESSION_BUCKETS, "platform", "outcome");
+    private static final Gauge ACTIVE_SESSIONS = MetricsRegistry.gauge("mobile_active_sessions",
+            "Appium sessions currently open.", "platform");
+    private static final Histogram ACTION_DURATION = MetricsRegistry.histogram("mobile_action_duration_seconds",
+            "Latency of the Actions steps.", LATENCY_BUCKETS, "module", "test", "action", "outcome");
+    private static final Counter STEP_RETRIES = MetricsRegistry.counter("mobile_step_retries",
+            "Actions steps retried in place on a transient driver error.", "module", "test", "action");
+    private static final Histogram WAIT_DURATION = MetricsRegistry.histogram("mobile_wait_duration_seconds",
+            "Time spent waiting for an element condition.", LATENCY_BUCKETS, "module", "test", "wait");
+    private static final Counter WAIT_TIMEOUTS = MetricsRegistry.counter("mobile_wait_timeouts",
+            "Element waits that timed out.", "module", "test", "wait");
+    private static final Counter TEST_RETRIES = MetricsRegistry.counter("mobile_test_retries",
+            "Test executions retried by the RetryAnalyzer.", "module", "test");
+    private static final Counter SCREENSHOTS = MetricsRegistry.counter("mobile_screenshots",
+            "Screenshots taken for the report.", "module", "test", "kind");
+
+    public static void sessionCreated(long startNanos, boolean success) {
+        SESSION_CREATION.observe(secondsSince(startNanos), PLATFORM, success ? "success" : "failure");
+    }
+
+    public static void sessionOpened() {
+        ACTIVE_SESSIONS.inc(PLATFORM);
+    }
+
+    public static void sessionClosed() {
+        ACTIVE_SESSIONS.dec(PLATFORM);
+    }
+
+    public static void actionPerformed(String action, long startNanos, boolean success) {
+        TestMetadata test = TestMetadata.current();
+        ACTION_DURATION.observe(secondsSince(startNanos), module(test), testName(test), action, success ? "success" : "failure");
+    }
+
+    public static void stepRetried(String action) {
+        TestMetadata test = TestMetadata.current();
+        STEP_RETRIES.inc(module(test), testName(test), action);
+    }
+
+    public static void waitFinished(String wait, long startNanos, boolean timedOut) {
+        TestMetadata test = TestMetadata.current();
+        WAIT_DURATION.observe(secondsSince(startNanos), module(test), testName(test), wait);
+        if (timedOut) {
+            WAIT_TIMEOUTS.inc(module(test), testName(test), wait);
+        }
+    }
+
+    public static void testRetried(TestMetadata test) {
+        TEST_RETRIES.inc(module(test), testName(test));
+    }
+
+    public static void screenshotTaken(String kind) {
+        TestMetadata test = TestMetadata.current();
+        SCREENSHOTS.inc(module(test), testName(test), kind);
+    }
+
+    private static double secondsSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1e9;
+    }
+
+    private static String module(TestMetadata test) {
+        return test == null ? NONE : test.moduleName();
+    }
+
+    private static String testName(TestMetadata test) {
+        return test == null ? NONE : test.testName();
+    }
+}
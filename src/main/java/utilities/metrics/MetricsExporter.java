@@ -0,0 +1,87 @@
+package utilities.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.roopesh.config.Config;
+import org.roopesh.config.Config.ConfigProperty;
+import org.roopesh.constants.FileConstant;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.Executors;
+
+/**
+ * Exports the {@link MetricsRegistry} in the OpenMetrics text format.
+ * <p>
+ * If {@code metricsPort} is set, the metrics are served on {@code /metrics} while the suite runs. If
+ * {@code metricsFileEnabled} is true they are written to {@code metrics.txt} next to the report when the suite ends.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MetricsExporter {
+    private static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+    private static final String METRICS_FILE = "metrics.txt";
+    private static final Logger log = LogManager.getLogger(MetricsExporter.class);
+    private static HttpServer server;
+
+    /**
+     * Starts the metrics endpoint if {@code metricsPort} is greater than 0.
+     */
+    public static synchronized void start() {
+        int port = Integer.parseInt(Config.getConfigProperty(ConfigProperty.METRICS_PORT).trim());
+        if (port <= 0 || server != null) {
+            return;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(port), 0);
+            server.createContext("/metrics", exchange -> {
+                byte[] body = MetricsRegistry.scrape().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(body);
+                }
+            });
+            server.setExecutor(Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "metrics-endpoint");
+                thread.setDaemon(true);
+                return thread;
+            }));
+            server.start();
+            log.info("Metrics are served on http://localhost:{}/metrics", port);
+        } catch (IOException e) {
+            log.error("Unable to start the metrics endpoint on port {}", port, e);
+            server = null;
+        }
+    }
+
+    /**
+     * Writes the metrics file if enabled and stops the metrics endpoint.
+     */
+    public static synchronized void stop() {
+        if (Boolean.parseBoolean(Config.getConfigProperty(ConfigProperty.METRICS_FILE_ENABLED))) {
+            String reportPath = System.getProperty("automationReportPath");
+            Path metricsFile = reportPath != null
+                    ? Paths.get(reportPath).toAbsolutePath().resolveSibling(METRICS_FILE)
+                    : Paths.get(FileConstant.REPORT_FOLDER, METRICS_FILE);
+            try {
+                Files.createDirectories(metricsFile.getParent());
+                Files.writeString(metricsFile, MetricsRegistry.scrape(), StandardCharsets.UTF_8);
+                log.info("Metrics written to {}", metricsFile);
+            } catch (IOException e) {
+                log.error("Unable to write the metrics to {}", metricsFile, e);
+            }
+        }
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+}
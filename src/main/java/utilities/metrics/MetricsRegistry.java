@@ -0,0 +1,244 @@
+package utilities.metrics;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * In-process registry of the framework metrics, rendered in the OpenMetrics text format.
+ * <p>
+ * Counters and histogram buckets are {@link LongAdder}s, so recording a sample from parallel test threads never
+ * blocks. Each metric keeps one child per distinct set of label values.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MetricsRegistry {
+    private static final Map<String, Metric<?>> METRICS = new ConcurrentSkipListMap<>();
+
+    /**
+     * Registers a counter, or returns the one already registered under the name.
+     *
+     * @param name       the metric name, without the {@code _total} suffix
+     * @param help       the metric description
+     * @param labelNames the label names
+     * @return the counter
+     */
+    public static Counter counter(String name, String help, String... labelNames) {
+        return (Counter) METRICS.computeIfAbsent(name, _ -> new Counter(name, help, labelNames));
+    }
+
+    /**
+     * Registers a gauge, or returns the one already registered under the name.
+     *
+     * @param name       the metric name
+     * @param help       the metric description
+     * @param labelNames the label names
+     * @return the gauge
+     */
+    public static Gauge gauge(String name, String help, String... labelNames) {
+        return (Gauge) METRICS.computeIfAbsent(name, _ -> new Gauge(name, help, labelNames));
+    }
+
+    /**
+     * Registers a histogram, or returns the one already registered under the name.
+     *
+     * @param name       the metric name
+     * @param help       the metric description
+     * @param buckets    the upper bounds of the buckets, in ascending order, without {@code +Inf}
+     * @param labelNames the label names
+     * @return the histogram
+     */
+    public static Histogram histogram(String name, String help, double[] buckets, String... labelNames) {
+        return (Histogram) METRICS.computeIfAbsent(name, _ -> new Histogram(name, help, buckets, labelNames));
+    }
+
+    /**
+     * Renders every registered metric in the OpenMetrics text format.
+     *
+     * @return the exposition, terminated by {@code # EOF}
+     */
+    public static String scrape() {
+        StringBuilder builder = new StringBuilder();
+        for (Metric<?> metric : METRICS.values()) {
+            builder.append("# TYPE ").append(metric.name).append(' ').append(metric.type()).append('\n');
+            builder.append("# HELP ").append(metric.name).append(' ').append(metric.help).append('\n');
+            metric.writeSamples(builder);
+        }
+        return builder.append("# EOF\n").toString();
+    }
+
+    private static String labels(String[] labelNames, List<String> labelValues, String extraName, String extraValue) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < labelNames.length; i++) {
+            appendLabel(builder, labelNames[i], labelValues.get(i));
+        }
+        if (extraName != null) {
+            appendLabel(builder, extraName, extraValue);
+        }
+        return builder.isEmpty() ? "" : "{" + builder + "}";
+    }
+
+    private static void appendLabel(StringBuilder builder, String name, String value) {
+        if (!builder.isEmpty()) {
+            builder.append(',');
+        }
+        builder.append(name).append("=\"")
+                .append(value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"))
+                .append('"');
+    }
+
+    private static String format(double value) {
+        if (value == Double.POSITIVE_INFINITY) {
+            return "+Inf";
+        }
+        return value == Math.rint(value) && Math.abs(value) < 1e15 ? String.valueOf((long) value) : String.valueOf(value);
+    }
+
+    /**
+     * Base of the metric types, keeps one child per set of label values.
+     *
+     * @param <C> the type of the child
+     */
+    private abstract static class Metric<C> {
+        final String name;
+        final String help;
+        final String[] labelNames;
+        final Map<List<String>, C> children = new ConcurrentHashMap<>();
+        private final Function<List<String>, C> childFactory;
+
+        Metric(String name, String help, String[] labelNames, Function<List<String>, C> childFactory) {
+            this.name = name;
+            this.help = help;
+            this.labelNames = labelNames;
+            this.childFactory = childFactory;
+        }
+
+        C child(String... labelValues) {
+            if (labelValues.length != labelNames.length) {
+                throw new IllegalArgumentException(name + " expects the labels " + Arrays.toString(labelNames));
+            }
+            return children.computeIfAbsent(Arrays.asList(labelValues), childFactory);
+        }
+
+        void writeSamples(StringBuilder builder) {
+            children.forEach((labelValues, child) -> write(builder, labelValues, child));
+        }
+
+        abstract String type();
+
+        abstract void write(StringBuilder builder, List<String> labelValues, C child);
+    }
+
+    /**
+     * A monotonically increasing count.
+     */
+    public static final class Counter extends Metric<LongAdder> {
+        private Counter(String name, String help, String[] labelNames) {
+            super(name, help, labelNames, _ -> new LongAdder());
+        }
+
+        public void inc(String... labelValues) {
+            child(labelValues).increment();
+        }
+
+        @Override
+        String type() {
+            return "counter";
+        }
+
+        @Override
+        void write(StringBuilder builder, List<String> labelValues, LongAdder child) {
+            builder.append(name).append("_total").append(labels(labelNames, labelValues, null, null))
+                    .append(' ').append(child.sum()).append('\n');
+        }
+    }
+
+    /**
+     * A value that can go up and down.
+     */
+    public static final class Gauge extends Metric<AtomicLong> {
+        private Gauge(String name, String help, String[] labelNames) {
+            super(name, help, labelNames, _ -> new AtomicLong());
+        }
+
+        public void inc(String... labelValues) {
+            child(labelValues).incrementAndGet();
+        }
+
+        public void dec(String... labelValues) {
+            child(labelValues).decrementAndGet();
+        }
+
+        @Override
+        String type() {
+            return "gauge";
+        }
+
+        @Override
+        void write(StringBuilder builder, List<String> labelValues, AtomicLong child) {
+            builder.append(name).append(labels(labelNames, labelValues, null, null))
+                    .append(' ').append(child.get()).append('\n');
+        }
+    }
+
+    /**
+     * Samples counted in buckets, with their count and sum.
+     */
+    public static final class Histogram extends Metric<Histogram.Buckets> {
+        private final double[] bounds;
+
+        private Histogram(String name, String help, double[] bounds, String[] labelNames) {
+            super(name, help, labelNames, _ -> new Buckets(bounds.length + 1));
+            this.bounds = bounds.clone();
+        }
+
+        public void observe(double value, String... labelValues) {
+            Buckets buckets = child(labelValues);
+            int index = 0;
+            while (index < bounds.length && value > bounds[index]) {
+                index++;
+            }
+            buckets.counts[index].increment();
+            buckets.sum.add(value);
+        }
+
+        @Override
+        String type() {
+            return "histogram";
+        }
+
+        @Override
+        void write(StringBuilder builder, List<String> labelValues, Buckets child) {
+            long cumulative = 0;
+            for (int i = 0; i <= bounds.length; i++) {
+                cumulative += child.counts[i].sum();
+                double bound = i < bounds.length ? bounds[i] : Double.POSITIVE_INFINITY;
+                builder.append(name).append("_bucket").append(labels(labelNames, labelValues, "le", format(bound)))
+                        .append(' ').append(cumulative).append('\n');
+            }
+            String labels = labels(labelNames, labelValues, null, null);
+            builder.append(name).append("_count").append(labels).append(' ').append(cumulative).append('\n');
+            builder.append(name).append("_sum").append(labels).append(' ').append(child.sum.sum()).append('\n');
+        }
+
+        static final class Buckets {
+            private final LongAdder[] counts;
+            private final DoubleAdder sum = new DoubleAdder();
+
+            private Buckets(int size) {
+                counts = new LongAdder[size];
+                for (int i = 0; i < size; i++) {
+                    counts[i] = new LongAdder();
+                }
+            }
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package utilities.otp;
 
+import com.google.gson.annotations.SerializedName;
+
 public class OTPResponse {
     public String s;
     public String code;
     public String message;
+    @SerializedName("request_key")
+    public String requestKey;
 }
@@ -0,0 +1,145 @@
+package utilities.otp;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.roopesh.config.Config;
+import org.roopesh.config.Config.ConfigProperty;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Asynchronous client of the OTP endpoints listed by {@link OTPUnblocker}.
+ * <p>
+ * All the calls share one {@link HttpClient}, which keeps the connections to the service alive between requests.
+ * Every call returns at once; a test starts the OTP unblock or request before the UI steps that lead to the OTP
+ * screen and joins the result only when the OTP is entered. A call that fails or gets a non 2xx status completes
+ * exceptionally with an {@link IOException} cause.
+ */
+public final class OtpClient {
+    private static final Logger log = LogManager.getLogger(OtpClient.class);
+    private static final Gson GSON = new Gson();
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final Duration requestTimeout;
+
+    /**
+     * Creates a client of the service at the given base URI, e.g. a local stub.
+     *
+     * @param baseUri        the base URI the endpoint paths are appended to
+     * @param requestTimeout the timeout of the connection and of every request
+     */
+    public OtpClient(URI baseUri, Duration requestTimeout) {
+        this.baseUri = baseUri;
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(requestTimeout)
+                .build();
+    }
+
+    /**
+     * Returns the client of the {@code APIBASEURL} service, created on first use.
+     *
+     * @return the shared {@link OtpClient}
+     */
+    public static OtpClient getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    /**
+     * Removes the OTP limit of an account.
+     *
+     * @param clientId the client id of the account
+     * @return the response of the service
+     */
+    public CompletableFuture<OTPResponse> unblock(String clientId) {
+        return send("unblock", request(OTPUnblocker.OTPUnblock() + URLEncoder.encode(clientId, StandardCharsets.UTF_8)).GET());
+    }
+
+    /**
+     * Requests an OTP for the login of an account.
+     *
+     * @param clientId the client id of the account
+     * @return the response of the service, holding the request key to verify the OTP with
+     */
+    public CompletableFuture<OTPResponse> sendLoginOtp(String clientId) {
+        return send("send", request(OTPUnblocker.SendLoxginOTP()).POST(json(Map.of("fy_id", clientId))));
+    }
+
+    /**
+     * Verifies the OTP of a login.
+     *
+     * @param requestKey the request key returned by {@link #sendLoginOtp(String)}
+     * @param otp        the OTP to verify
+     * @return the response of the service
+     */
+    public CompletableFuture<OTPResponse> verifyOtp(String requestKey, String otp) {
+        return send("verify", request(OTPUnblocker.VerifyOTP()).POST(json(Map.of("request_key", requestKey, "otp", otp))));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUri.toString().replaceAll("/+$", "") + path))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json");
+    }
+
+    private static HttpRequest.BodyPublisher json(Map<String, String> body) {
+        return HttpRequest.BodyPublishers.ofString(GSON.toJson(body), StandardCharsets.UTF_8);
+    }
+
+    private CompletableFuture<OTPResponse> send(String operation, HttpRequest.Builder builder) {
+        HttpRequest request = builder.header("Content-Type", "application/json").build();
+        long startNanos = System.nanoTime();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                .thenApply(response -> {
+                    log.debug("OTP {} returned {} in {} ms", operation, response.statusCode(),
+                            (System.nanoTime() - startNanos) / 1_000_000);
+                    if (response.statusCode() / 100 != 2) {
+                        throw new CompletionException(new IOException("OTP " + operation + " returned "
+                                + response.statusCode() + ": " + response.body()));
+                    }
+                    return parse(response);
+                })
+                .whenComplete((_, e) -> {
+                    if (e != null) {
+                        log.warn("OTP {} failed: {}", operation, e.getMessage());
+                    }
+                });
+    }
+
+    private static OTPResponse parse(HttpResponse<String> response) {
+        OTPResponse otpResponse = null;
+        try {
+            otpResponse = GSON.fromJson(response.body(), OTPResponse.class);
+        } catch (JsonSyntaxException e) {
+            log.debug("OTP response is not JSON: {}", response.body());
+        }
+        if (otpResponse == null) {
+            otpResponse = new OTPResponse();
+            otpResponse.message = response.body();
+        }
+        if (otpResponse.code == null) {
+            otpResponse.code = String.valueOf(response.statusCode());
+        }
+        return otpResponse;
+    }
+
+    private static final class LazyHolder {
+        private static final OtpClient INSTANCE = new OtpClient(
+                URI.create(Config.getConfigProperty(ConfigProperty.API_BASE_URL).trim()),
+                Duration.ofSeconds(Long.parseLong(Config.getConfigProperty(ConfigProperty.OTP_REQUEST_TIMEOUT_SECONDS).trim())));
+    }
+}
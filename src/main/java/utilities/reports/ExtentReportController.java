@@ -1,24 +1,48 @@
 package utilities.reports;
 
-import com.aventstack.extentreports.ExtentReports;
-import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
-import com.aventstack.extentreports.reporter.ExtentSparkReporter;
-import com.aventstack.extentreports.reporter.configuration.Theme;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.roopesh.actions.StepFrameRecorder.StepFrame;
+import org.roopesh.config.Config;
+import org.roopesh.config.Config.ConfigProperty;
 import org.roopesh.constants.FileConstant;
+import org.roopesh.customExceptions.PageElementException;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
 import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Controls the extent report of the run.
+ * <p>
+ * The log methods write the message to the log on the calling thread, at the level matching the status, and
+ * queue a {@link ReportEvent} for the report. The events are written to the {@link ReportJournal} by the
+ * single consumer thread of the {@link ReportEventPipeline}. Test threads therefore never touch the report directly
+ * and parallel tests can not interleave or corrupt each other's nodes.
+ * <p>
+ * The journal is fsync'd at every test boundary. The HTML report is rendered from it by the {@link ReportRenderer}
+ * once, in {@link #flushReport()}, so the run keeps no report model in memory; a report of the tests finished so
+ * far is rendered on demand with {@link #renderReport()} or the {@link ReportRenderer} command line.
+ */
 public class ExtentReportController {
-    private static final ThreadLocal<ExtentTest> extentTest = new ThreadLocal<>();
+    private static final ThreadLocal<String> currentTestId = new ThreadLocal<>();
     private static final Logger log = LogManager.getLogger(ExtentReportController.class);
-    static ExtentTest test;
-    private static ExtentReports extentReports;
+    private static final AtomicLong testSequence = new AtomicLong();
+    private static final long DRAIN_TIMEOUT_MINUTES = 5;
+    private static ReportJournal journal;
+    private static ReportEventPipeline pipeline;
+    private static ScreenshotProcessor screenshotProcessor;
+    private static StepFrameWriter stepFrameWriter;
+    private static Path journalPath;
+    private static Path reportPath;
 
     /**
      * Method helps to start extent report.
@@ -27,46 +51,172 @@ public class ExtentReportController {
         Date today = new Date();
         SimpleDateFormat formatter = new SimpleDateFormat("dd MMMM yyyy HH:mm:ss");
         String strDate = formatter.format(today);
-        String reportDate = strDate.replaceAll("[ :]", "_");
+        // The pid keeps the folders of surefire forks or agents starting in the same second apart
+        String reportDate = strDate.replaceAll("[ :]", "_") + "_" + ProcessHandle.current().pid();
         String path = String.format(FileConstant.REPORT_PATH, reportDate);
         System.setProperty("automationReportPath", path);
         System.setProperty("automationReportDate", reportDate);
-        ExtentSparkReporter htmlReporter = new ExtentSparkReporter(path);
-        htmlReporter.config().setDocumentTitle("Automation Report " + strDate);
-        htmlReporter.config().setReportName("Automation Report");
-        htmlReporter.config().setTheme(Theme.STANDARD);
-        htmlReporter.config().thumbnailForBase64(true);
-        extentReports = new ExtentReports();
-        extentReports.attachReporter(htmlReporter);
+        reportPath = Paths.get(path);
+        journalPath = reportPath.resolveSibling(FileConstant.REPORT_JOURNAL_FILE);
+        try {
+            journal = new ReportJournal(journalPath);
+        } catch (IOException e) {
+            throw new PageElementException("Unable to create the report journal " + journalPath, e);
+        }
+        int capacity = Integer.parseInt(Config.getConfigProperty(ConfigProperty.REPORT_QUEUE_CAPACITY).trim());
+        ReportEventPipeline.BackpressurePolicy policy = ReportEventPipeline.BackpressurePolicy.valueOf(
+                Config.getConfigProperty(ConfigProperty.REPORT_BACKPRESSURE_POLICY).trim().toUpperCase());
+        pipeline = new ReportEventPipeline(capacity, policy, ExtentReportController::apply);
+        pipeline.submit(ReportEvent.report("Automation Report " + strDate));
+        screenshotProcessor = new ScreenshotProcessor(reportPath.toAbsolutePath().getParent());
+        stepFrameWriter = new StepFrameWriter(reportPath.toAbsolutePath().getParent(), screenshotProcessor);
     }
 
-    public static synchronized ExtentTest getTest() {
-        return extentTest.get();
+    /**
+     * Returns the id of the report node of the test running on the current thread.
+     *
+     * @return the current test id, or null if no test is started on this thread
+     */
+    public static String currentTestId() {
+        return currentTestId.get();
     }
 
     public static void logPass(String message) {
-        getTest().log(Status.PASS, message);
         log.info(message);
+        pipeline.submit(ReportEvent.log(currentTestId(), Status.PASS, message));
     }
 
     public static void logFail(String message) {
-        getTest().log(Status.FAIL, message);
-        log.info(message);
+        log.error(message);
+        pipeline.submit(ReportEvent.log(currentTestId(), Status.FAIL, message));
     }
 
     public static void logInfo(String message) {
-        getTest().log(Status.INFO, message);
         log.info(message);
+        pipeline.submit(ReportEvent.log(currentTestId(), Status.INFO, message));
+    }
+
+    public static void logWarning(String message) {
+        log.warn(message);
+        pipeline.submit(ReportEvent.log(currentTestId(), Status.WARNING, message));
+    }
+
+    /**
+     * Attaches the screenshot to the report node of the current test.
+     * <p>
+     * The screenshot is encoded and written by the {@link ScreenshotProcessor} pool, the calling thread returns
+     * as soon as the bytes are queued.
+     *
+     * @param png the PNG bytes returned by the driver
+     */
+    public static void attachScreenshot(byte[] png) {
+        String testId = currentTestId();
+        screenshotProcessor.submit(png, path -> pipeline.submit(ReportEvent.screenshot(testId, path)));
+    }
+
+    /**
+     * Writes the given step history next to the report and links it to the report node of the current test.
+     * The files are written by the {@link ScreenshotProcessor} pool.
+     *
+     * @param frames the recorded frames, oldest first
+     */
+    public static void attachStepFrames(List<StepFrame> frames) {
+        String testId = currentTestId();
+        if (testId == null || frames.isEmpty()) {
+            return;
+        }
+        screenshotProcessor.execute(() -> pipeline.submit(ReportEvent.log(testId, Status.INFO, stepFrameWriter.write(testId, frames))));
     }
 
     public static void startTest(Method method) {
         Test annotations = method.getAnnotation(Test.class);
-        String testName = annotations.testName();
-        test = extentReports.createTest(testName);
-        extentTest.set(test);
+        startTest(annotations.testName());
+    }
+
+    /**
+     * Starts a report node with the given name for the test running on the current thread.
+     *
+     * @param testName the name of the report node
+     */
+    public static void startTest(String testName) {
+        String testId = testName + "#" + testSequence.incrementAndGet();
+        currentTestId.set(testId);
+        pipeline.submit(ReportEvent.startTest(testId, testName));
     }
 
+    /**
+     * Marks the report node of the current test as finished. The journal is synced to the disk once the event
+     * is written.
+     *
+     * @param status  the final status of the test
+     * @param details the failure or skip reason, may be null
+     */
+    public static void endTest(Status status, String details) {
+        String testId = currentTestId();
+        if (testId != null) {
+            pipeline.submit(ReportEvent.endTest(testId, status, details));
+        }
+    }
+
+    /**
+     * Writes the queued events to the journal, closes it and renders the report to the disk.
+     */
     public static void flushReport() {
-        extentReports.flush();
+        if (!screenshotProcessor.shutdown(DRAIN_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+            log.error("Screenshots were not stored within {} minutes, the report may be incomplete", DRAIN_TIMEOUT_MINUTES);
+        }
+        if (!pipeline.drain(DRAIN_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+            log.error("Report events were not drained within {} minutes, the report may be incomplete", DRAIN_TIMEOUT_MINUTES);
+        }
+        pipeline.runExclusively(() -> {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                log.error("Unable to close the report journal {}", journalPath, e);
+            }
+        });
+        render();
+    }
+
+    /**
+     * Renders the HTML report from the events written to the journal so far.
+     * <p>
+     * Every render reads the whole journal, so it is only done on demand; {@link #flushReport()} renders the final
+     * report.
+     */
+    public static void renderReport() {
+        pipeline.runExclusively(() -> {
+            try {
+                journal.sync();
+            } catch (IOException e) {
+                log.error("Unable to sync the report journal {}", journalPath, e);
+            }
+        });
+        render();
+    }
+
+    private static void render() {
+        try {
+            ReportRenderer.render(journalPath, reportPath);
+        } catch (IOException | RuntimeException e) {
+            log.error("Unable to render the report from {}", journalPath, e);
+        }
+    }
+
+    /**
+     * Writes a single event to the journal. Only called by the {@link ReportEventPipeline} consumer.
+     *
+     * @param event the event to write
+     */
+    private static void apply(ReportEvent event) {
+        String status = event.status() == null ? null : event.status().name();
+        try {
+            journal.append(new ReportJournal.Entry(event.type().name(), event.testId(), status, event.message(), System.currentTimeMillis()));
+            if (event.type() == ReportEvent.Type.END_TEST || event.type() == ReportEvent.Type.REPORT) {
+                journal.sync();
+            }
+        } catch (IOException e) {
+            log.error("Unable to write the {} event to the report journal", event.type(), e);
+        }
     }
-}
\ No newline at end of file
+}
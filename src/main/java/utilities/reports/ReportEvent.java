@@ -0,0 +1,46 @@
+package utilities.reports;
+
+import com.aventstack.extentreports.Status;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * A single report event that is queued by the test threads and applied to the report by the
+ * {@link ReportEventPipeline} consumer thread.
+ *
+ * @param type    the kind of event
+ * @param testId  the id of the test node the event belongs to
+ * @param status  the log status, only used by {@link Type#LOG} events
+ * @param message the report title, test name, log message or screenshot path depending on the type
+ * @param barrier released once the event is processed, only used by {@link Type#BARRIER} events
+ */
+record ReportEvent(Type type, String testId, Status status, String message, CountDownLatch barrier) {
+
+    static ReportEvent report(String title) {
+        return new ReportEvent(Type.REPORT, null, null, title, null);
+    }
+
+    static ReportEvent startTest(String testId, String testName) {
+        return new ReportEvent(Type.START_TEST, testId, null, testName, null);
+    }
+
+    static ReportEvent log(String testId, Status status, String message) {
+        return new ReportEvent(Type.LOG, testId, status, message, null);
+    }
+
+    static ReportEvent screenshot(String testId, String path) {
+        return new ReportEvent(Type.SCREENSHOT, testId, null, path, null);
+    }
+
+    static ReportEvent endTest(String testId, Status status, String details) {
+        return new ReportEvent(Type.END_TEST, testId, status, details, null);
+    }
+
+    static ReportEvent drainBarrier() {
+        return new ReportEvent(Type.BARRIER, null, null, null, new CountDownLatch(1));
+    }
+
+    enum Type {
+        REPORT, START_TEST, LOG, SCREENSHOT, END_TEST, BARRIER
+    }
+}
@@ -0,0 +1,155 @@
+package utilities.reports;
+
+import com.aventstack.extentreports.Status;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi producer, single consumer queue for the report events.
+ * <p>
+ * Test threads only enqueue a {@link ReportEvent}; a single daemon thread takes the events in order and applies
+ * them to the report through the given sink. Because there is only one consumer the events of a test are always
+ * applied in the order they were logged and the report model is never mutated by two threads at once.
+ * <p>
+ * When the queue is full the {@link BackpressurePolicy} decides what the producing thread does.
+ */
+final class ReportEventPipeline {
+    private static final Logger log = LogManager.getLogger(ReportEventPipeline.class);
+
+    private final BlockingQueue<ReportEvent> queue;
+    private final BackpressurePolicy policy;
+    private final Consumer<ReportEvent> sink;
+    private final Object applyLock = new Object();
+    private final LongAdder droppedEvents = new LongAdder();
+    private final Thread consumer;
+
+    ReportEventPipeline(int capacity, BackpressurePolicy policy, Consumer<ReportEvent> sink) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.policy = policy;
+        this.sink = sink;
+        this.consumer = new Thread(this::consume, "report-event-consumer");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    /**
+     * Queues the given event, applying the configured {@link BackpressurePolicy} if the queue is full.
+     *
+     * @param event the event to queue
+     */
+    void submit(ReportEvent event) {
+        if (queue.offer(event)) {
+            return;
+        }
+        switch (policy) {
+            case DROP_INFO:
+                if (event.type() == ReportEvent.Type.LOG && event.status() == Status.INFO) {
+                    droppedEvents.increment();
+                    return;
+                }
+                put(event);
+                break;
+            case DROP_LOGS:
+                if (event.type() == ReportEvent.Type.LOG && event.status() != Status.FAIL) {
+                    droppedEvents.increment();
+                    return;
+                }
+                put(event);
+                break;
+            case BLOCK:
+            default:
+                put(event);
+        }
+    }
+
+    /**
+     * Waits until every event queued before this call has been applied to the report.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of the timeout
+     * @return true if the queue was drained within the timeout, otherwise false
+     */
+    boolean drain(long timeout, TimeUnit unit) {
+        ReportEvent barrier = ReportEvent.drainBarrier();
+        put(barrier);
+        try {
+            boolean drained = barrier.barrier().await(timeout, unit);
+            if (droppedEvents.sum() > 0) {
+                log.warn("{} report logs were dropped because the report queue was full", droppedEvents.sum());
+            }
+            return drained;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Runs the given action while no event is being applied to the report.
+     *
+     * @param action the action to run
+     */
+    void runExclusively(Runnable action) {
+        synchronized (applyLock) {
+            action.run();
+        }
+    }
+
+    private void put(ReportEvent event) {
+        try {
+            queue.put(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while queuing the report event {}", event.type());
+        }
+    }
+
+    private void consume() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                ReportEvent event = queue.take();
+                synchronized (applyLock) {
+                    apply(event);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void apply(ReportEvent event) {
+        if (event.type() == ReportEvent.Type.BARRIER) {
+            event.barrier().countDown();
+            return;
+        }
+        try {
+            sink.accept(event);
+        } catch (RuntimeException e) {
+            log.error("Unable to apply the report event {} for {}", event.type(), event.testId(), e);
+        }
+    }
+
+    /**
+     * What a test thread does when the report queue is full.
+     */
+    enum BackpressurePolicy {
+        /**
+         * Wait until the consumer frees up space in the queue.
+         */
+        BLOCK,
+        /**
+         * Drop info logs, every other event waits like {@link #BLOCK}.
+         */
+        DROP_INFO,
+        /**
+         * Drop every log except failures; failures, screenshots and new test nodes wait like {@link #BLOCK}.
+         */
+        DROP_LOGS
+    }
+}
@@ -0,0 +1,102 @@
+package utilities.reports;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Append-only JSON-lines journal of the report events.
+ * <p>
+ * Every {@link ReportEvent} applied by the {@link ReportEventPipeline} consumer is written as one line. The journal
+ * is flushed and fsync'd at every test boundary, so a killed JVM loses at most the events of the running tests.
+ * The HTML report is rendered from the journal by {@link ReportRenderer}.
+ */
+final class ReportJournal implements Closeable {
+    private static final Gson GSON = new Gson();
+
+    private final FileOutputStream outputStream;
+    private final Writer writer;
+
+    ReportJournal(Path path) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        this.outputStream = new FileOutputStream(path.toFile(), true);
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the journal at the given path line by line.
+     * <p>
+     * A truncated last line, left behind when the JVM died while writing, is ignored.
+     *
+     * @param path   the journal to read
+     * @param action called for every entry in the order they were written
+     * @throws IOException if the journal cannot be read
+     */
+    static void read(Path path, Consumer<Entry> action) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Entry entry;
+                try {
+                    entry = GSON.fromJson(line, Entry.class);
+                } catch (JsonParseException e) {
+                    break;
+                }
+                action.accept(entry);
+            }
+        }
+    }
+
+    /**
+     * Appends the entry to the journal. The entry is only buffered, call {@link #sync()} to make it durable.
+     *
+     * @param entry the entry to append
+     * @throws IOException if the entry cannot be written
+     */
+    void append(Entry entry) throws IOException {
+        writer.write(GSON.toJson(entry));
+        writer.write('\n');
+    }
+
+    /**
+     * Flushes the buffered entries and forces them to the disk.
+     *
+     * @throws IOException if the journal cannot be written
+     */
+    void sync() throws IOException {
+        writer.flush();
+        outputStream.getFD().sync();
+    }
+
+    @Override
+    public void close() throws IOException {
+        sync();
+        writer.close();
+    }
+
+    /**
+     * A single journal line.
+     *
+     * @param type      the {@link ReportEvent.Type} name
+     * @param testId    the id of the test node
+     * @param status    the extent status name
+     * @param message   the test name, log message, screenshot path or report title depending on the type
+     * @param timestamp the epoch millis when the event was applied
+     */
+    record Entry(String type, String testId, String status, String message, long timestamp) {
+    }
+}
@@ -0,0 +1,133 @@
+package utilities.reports;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.model.Log;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.configuration.Theme;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders the extent HTML report from a {@link ReportJournal}.
+ * <p>
+ * The report is rendered once by {@link ExtentReportController#flushReport()}, or on demand. The extent model only
+ * lives for the duration of a render, so the memory held by the run does not grow with the number of executed tests.
+ * <p>
+ * After a crash the report can be rebuilt from the partial journal:
+ * <pre>{@code java -cp <classpath> utilities.reports.ReportRenderer target/report/<date>/journal.jsonl}</pre>
+ */
+public final class ReportRenderer {
+    private static final Logger log = LogManager.getLogger(ReportRenderer.class);
+
+    private ReportRenderer() {
+    }
+
+    /**
+     * Rebuilds the HTML report from the given journal.
+     *
+     * @param args the journal path and optionally the HTML report path,
+     *             by default {@code Automation.html} next to the journal
+     * @throws IOException if the journal cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: ReportRenderer <journal.jsonl> [report.html]");
+            System.exit(1);
+        }
+        Path journal = Paths.get(args[0]);
+        Path report = args.length > 1 ? Paths.get(args[1]) : journal.toAbsolutePath().getParent().resolve("Automation.html");
+        render(journal, report);
+        log.info("Report rebuilt at {}", report);
+    }
+
+    /**
+     * Renders the journal at the given path to the HTML report.
+     *
+     * @param journal the journal to read
+     * @param report  the HTML report to write
+     * @throws IOException if the journal cannot be read
+     */
+    public static void render(Path journal, Path report) throws IOException {
+        render(List.of(journal), report);
+    }
+
+    /**
+     * Renders the given journals, one after the other, to a single HTML report.
+     * <p>
+     * The test ids of each journal are kept apart and the screenshot and step frame links are rebased onto the
+     * folder of the report, so journals of different runs can be merged.
+     *
+     * @param journals the journals to read
+     * @param report   the HTML report to write
+     * @throws IOException if a journal cannot be read
+     */
+    public static synchronized void render(List<Path> journals, Path report) throws IOException {
+        ExtentSparkReporter htmlReporter = new ExtentSparkReporter(report.toString());
+        htmlReporter.config().setReportName("Automation Report");
+        htmlReporter.config().setTheme(Theme.STANDARD);
+        htmlReporter.config().thumbnailForBase64(false);
+        ExtentReports extentReports = new ExtentReports();
+        extentReports.attachReporter(htmlReporter);
+
+        Path reportDirectory = report.toAbsolutePath().getParent();
+        Map<String, ExtentTest> tests = new HashMap<>();
+        for (int index = 0; index < journals.size(); index++) {
+            Path journalDirectory = journals.get(index).toAbsolutePath().getParent();
+            String base = reportDirectory.equals(journalDirectory) ? "" : reportDirectory.relativize(journalDirectory).toString().replace('\\', '/') + "/";
+            String idPrefix = journals.size() == 1 ? "" : index + ":";
+            boolean firstJournal = index == 0;
+            ReportJournal.read(journals.get(index), entry -> {
+                String testId = idPrefix + entry.testId();
+                switch (ReportEvent.Type.valueOf(entry.type())) {
+                    case REPORT:
+                        if (firstJournal) {
+                            htmlReporter.config().setDocumentTitle(entry.message());
+                        }
+                        break;
+                    case START_TEST:
+                        ExtentTest test = extentReports.createTest(entry.message());
+                        test.getModel().setStartTime(new Date(entry.timestamp()));
+                        tests.put(testId, test);
+                        break;
+                    case LOG:
+                        ExtentTest loggedTest = tests.get(testId);
+                        if (loggedTest != null) {
+                            loggedTest.log(Status.valueOf(entry.status()), base.isEmpty() ? entry.message() : entry.message().replace("href='", "href='" + base));
+                            List<Log> logs = loggedTest.getModel().getLogs();
+                            logs.get(logs.size() - 1).setTimestamp(new Date(entry.timestamp()));
+                        }
+                        break;
+                    case SCREENSHOT:
+                        ExtentTest failedTest = tests.get(testId);
+                        if (failedTest != null) {
+                            failedTest.addScreenCaptureFromPath(base + entry.message());
+                        }
+                        break;
+                    case END_TEST:
+                        ExtentTest finishedTest = tests.get(testId);
+                        if (finishedTest != null) {
+                            Status status = Status.valueOf(entry.status());
+                            if (status != Status.PASS && finishedTest.getStatus() != status) {
+                                finishedTest.log(status, entry.message() == null ? "Test " + status : entry.message());
+                            }
+                            finishedTest.getModel().setEndTime(new Date(entry.timestamp()));
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            });
+        }
+        extentReports.flush();
+    }
+}
@@ -0,0 +1,111 @@
+package utilities.reports;
+
+import com.google.gson.Gson;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Compact, versioned result file written by every run next to its report.
+ * <p>
+ * The first line is the {@link Header} of the run, every following line is the {@link TestEntry} of one test.
+ * Shards of several surefire forks or CI agents are merged into one report and one email by {@link ShardMerger}.
+ */
+final class ResultShard {
+    static final String FORMAT = "mobile-automation-result-shard";
+    static final int VERSION = 1;
+    private static final Gson GSON = new Gson();
+
+    private ResultShard() {
+    }
+
+    /**
+     * Writes the shard to the given path.
+     *
+     * @param path    the shard to write
+     * @param header  the header of the run
+     * @param entries the tests of the run
+     * @throws IOException if the shard cannot be written
+     */
+    static void write(Path path, Header header, Iterable<TestEntry> entries) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write(GSON.toJson(header));
+            writer.write('\n');
+            for (TestEntry entry : entries) {
+                writer.write(GSON.toJson(entry));
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Streams the shard at the given path, one line at a time.
+     *
+     * @param path          the shard to read
+     * @param headerAction  called once with the header
+     * @param entryAction   called for every test entry
+     * @throws IOException if the shard cannot be read or has an unsupported format or version
+     */
+    static void read(Path path, Consumer<Header> headerAction, Consumer<TestEntry> entryAction) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            Header header = GSON.fromJson(reader.readLine(), Header.class);
+            if (header == null || !FORMAT.equals(header.format())) {
+                throw new IOException(path + " is not a result shard");
+            }
+            if (header.version() > VERSION) {
+                throw new IOException(path + " has the unsupported shard version " + header.version());
+            }
+            headerAction.accept(header);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    entryAction.accept(GSON.fromJson(line, TestEntry.class));
+                }
+            }
+        }
+    }
+
+    /**
+     * The first line of a shard.
+     *
+     * @param format      always {@link #FORMAT}
+     * @param version     the shard version, {@link #VERSION} when written
+     * @param suiteName   the name of the suite
+     * @param testRunName the {@code testRunName} suite parameter
+     * @param host        the host that ran the suite
+     * @param startTime   the epoch millis when the suite started
+     * @param endTime     the epoch millis when the suite finished
+     * @param journal     the report journal, relative to the shard
+     * @param modules     the {@link utilities.annotations.MobileTest} counts of the modules in the suite
+     */
+    record Header(String format, int version, String suiteName, String testRunName, String host, long startTime,
+                  long endTime, String journal, List<ModuleSummary> modules) {
+    }
+
+    /**
+     * The automation counts declared by the {@link utilities.annotations.MobileTest} of a module.
+     */
+    record ModuleSummary(String moduleName, int manualTestcaseCount, int automatableTestcaseCount, int automatedCount) {
+    }
+
+    /**
+     * The final outcome of a single test.
+     *
+     * @param moduleName   the module of the test
+     * @param testName     the name of the test
+     * @param outcome      the {@link TestCount.Outcome} name
+     * @param startMillis  the epoch millis when the last execution started
+     * @param endMillis    the epoch millis when the last execution finished
+     * @param reportTestId the id of the test node in the report journal
+     */
+    record TestEntry(String moduleName, String testName, String outcome, long startMillis, long endMillis,
+                     String reportTestId) {
+    }
+}
@@ -0,0 +1,164 @@
+package utilities.reports;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.roopesh.config.Config;
+import org.roopesh.config.Config.ConfigProperty;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Encodes and stores the failure screenshots off the test thread.
+ * <p>
+ * The test thread only grabs the PNG bytes from the driver and hands them over. A small pool downscales the
+ * screenshot to {@code screenshotMaxWidth}, re-encodes it as a JPEG and writes it to the {@code screenshots}
+ * folder of the run, named by the SHA-256 of its content. Identical screenshots are therefore stored once and
+ * retries or parallel runs of the same test never overwrite each other.
+ */
+final class ScreenshotProcessor {
+    static final String SCREENSHOT_FOLDER = "screenshots";
+    private static final Logger log = LogManager.getLogger(ScreenshotProcessor.class);
+
+    private final Path reportDirectory;
+    private final int maxWidth;
+    private final float quality;
+    private final ExecutorService executor;
+
+    ScreenshotProcessor(Path reportDirectory) {
+        this.reportDirectory = reportDirectory;
+        this.maxWidth = Integer.parseInt(Config.getConfigProperty(ConfigProperty.SCREENSHOT_MAX_WIDTH).trim());
+        this.quality = Float.parseFloat(Config.getConfigProperty(ConfigProperty.SCREENSHOT_JPEG_QUALITY).trim());
+        int poolSize = Integer.parseInt(Config.getConfigProperty(ConfigProperty.SCREENSHOT_POOL_SIZE).trim());
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "screenshot-processor-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues the screenshot for encoding.
+     *
+     * @param png      the PNG bytes returned by the driver
+     * @param onStored called with the path of the stored screenshot, relative to the report directory
+     */
+    void submit(byte[] png, Consumer<String> onStored) {
+        executor.execute(() -> {
+            try {
+                onStored.accept(store(png));
+            } catch (IOException | RuntimeException e) {
+                log.error("Unable to store the screenshot", e);
+            }
+        });
+    }
+
+    /**
+     * Runs the given task on the screenshot pool, after the screenshots queued before it were picked up.
+     *
+     * @param task the task to run
+     */
+    void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    /**
+     * Waits for the queued screenshots to be stored and stops the pool.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of the timeout
+     * @return true if every screenshot was stored within the timeout, otherwise false
+     */
+    boolean shutdown(long timeout, TimeUnit unit) {
+        executor.shutdown();
+        try {
+            return executor.awaitTermination(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Encodes and writes the screenshot on the calling thread.
+     *
+     * @param png the PNG bytes returned by the driver
+     * @return the path of the stored screenshot, relative to the report directory
+     * @throws IOException if the screenshot cannot be decoded or written
+     */
+    String store(byte[] png) throws IOException {
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        if (source == null) {
+            throw new IOException("Screenshot is not a readable image");
+        }
+        byte[] jpeg = encode(downscale(source));
+        String fileName = sha256(jpeg) + ".jpg";
+        Path directory = reportDirectory.resolve(SCREENSHOT_FOLDER);
+        Files.createDirectories(directory);
+        try {
+            Files.write(directory.resolve(fileName), jpeg, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        } catch (FileAlreadyExistsException e) {
+            log.debug("Screenshot {} is already stored", fileName);
+        }
+        return SCREENSHOT_FOLDER + "/" + fileName;
+    }
+
+    private BufferedImage downscale(BufferedImage source) {
+        int width = Math.min(source.getWidth(), maxWidth);
+        int height = (int) Math.max(1, Math.round((double) source.getHeight() * width / source.getWidth()));
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(outputStream)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(imageOutputStream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
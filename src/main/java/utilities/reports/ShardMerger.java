@@ -0,0 +1,148 @@
+package utilities.reports;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.roopesh.config.Config;
+import org.roopesh.constants.FileConstant;
+import utilities.emailConfig.EmailConfigurator;
+import utilities.emailConfig.Mailer;
+import utilities.reports.TestCount.Outcome;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Merges the {@link ResultShard}s of several surefire forks or CI agents into one extent report and one email.
+ * <p>
+ * The shards are streamed line by line in a single pass; only the module counts and the names of the failed and
+ * skipped tests are kept in memory. The journals referenced by the shards are then rendered into one report.
+ * <pre>{@code java -cp <classpath> utilities.reports.ShardMerger target/report/merged <shard or folder>...}</pre>
+ * Folders are searched for {@code result-shard.jsonl} files.
+ */
+public final class ShardMerger {
+    private static final Logger log = LogManager.getLogger(ShardMerger.class);
+
+    private final Map<String, TestCount> moduleTestCount = new LinkedHashMap<>();
+    private final Map<String, AutomationSummary> automationSummary = new LinkedHashMap<>();
+    private final List<String> failedTestcases = new ArrayList<>();
+    private final List<String> skippedTestcases = new ArrayList<>();
+    private final List<Path> journals = new ArrayList<>();
+    private String suiteName;
+    private String testRunName;
+    private long startTime = Long.MAX_VALUE;
+    private long endTime = Long.MIN_VALUE;
+
+    private ShardMerger() {
+    }
+
+    /**
+     * Merges the given shards.
+     *
+     * @param args the output folder followed by the shards or folders containing shards
+     * @throws IOException if a shard cannot be read or the report cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ShardMerger <output folder> <shard or folder>...");
+            System.exit(1);
+        }
+        List<Path> shards = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            shards.addAll(findShards(Paths.get(args[i])));
+        }
+        merge(shards, Paths.get(args[0]));
+    }
+
+    /**
+     * Merges the given shards into {@code Automation.html} in the output folder and sends the summary email if
+     * email reporting is enabled.
+     *
+     * @param shards          the shards to merge
+     * @param outputDirectory the folder of the merged report
+     * @throws IOException if a shard cannot be read or the report cannot be written
+     */
+    public static void merge(List<Path> shards, Path outputDirectory) throws IOException {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("No result shards to merge");
+        }
+        ShardMerger merger = new ShardMerger();
+        for (Path shard : shards) {
+            merger.read(shard);
+        }
+        Files.createDirectories(outputDirectory);
+        Path report = outputDirectory.resolve("Automation.html");
+        ReportRenderer.render(merger.journals, report);
+        log.info("Merged {} shards into {}", shards.size(), report);
+
+        if (Boolean.parseBoolean(Config.getConfigProperty(Config.ConfigProperty.IS_EMAIL_REPORT_ENABLED))) {
+            System.setProperty("automationReportPath", report.toString());
+            System.setProperty("automationReportDate", new SimpleDateFormat("dd_MMMM_yyyy_HH_mm_ss").format(new Date()));
+            merger.sendEmail();
+            Mailer.awaitDelivery(EmailConfigurator.getShutdownTimeoutSeconds(), TimeUnit.SECONDS);
+        }
+    }
+
+    private static List<Path> findShards(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return List.of(path);
+        }
+        try (Stream<Path> files = Files.walk(path)) {
+            return files.filter(file -> file.getFileName().toString().equals(FileConstant.RESULT_SHARD_FILE)).sorted().toList();
+        }
+    }
+
+    private void read(Path shard) throws IOException {
+        ResultShard.read(shard, header -> {
+            if (suiteName == null) {
+                suiteName = header.suiteName();
+                testRunName = header.testRunName();
+            }
+            startTime = Math.min(startTime, header.startTime());
+            endTime = Math.max(endTime, header.endTime());
+            for (ResultShard.ModuleSummary module : header.modules()) {
+                automationSummary.put(module.moduleName(), new AutomationSummary(module.manualTestcaseCount(),
+                        module.automatableTestcaseCount(), module.automatedCount()));
+            }
+            Path journal = shard.toAbsolutePath().resolveSibling(header.journal());
+            if (Files.exists(journal)) {
+                journals.add(journal);
+            } else {
+                log.warn("Journal {} of shard {} is missing, its tests are left out of the report", journal, shard);
+            }
+        }, entry -> {
+            Outcome outcome = Outcome.valueOf(entry.outcome());
+            moduleTestCount.computeIfAbsent(entry.moduleName(), _ -> new TestCount()).increment(outcome);
+            if (outcome == Outcome.FAILED) {
+                failedTestcases.add(entry.testName());
+            } else if (outcome == Outcome.SKIPPED) {
+                skippedTestcases.add(entry.testName());
+            }
+        });
+    }
+
+    private void sendEmail() {
+        int totalPassed = 0;
+        int totalFailed = 0;
+        int totalSkipped = 0;
+        for (TestCount count : moduleTestCount.values()) {
+            totalPassed += count.getPassedTests();
+            totalFailed += count.getFailedTests();
+            totalSkipped += count.getSkippedTests();
+        }
+        List<List<Object>> summaryCount = TestResultListener.getSummaryCount(automationSummary);
+        Mailer.sendEmail(suiteName, testRunName, TestResultListener.formatExecutionTime(endTime - startTime),
+                totalPassed + totalFailed + totalSkipped, totalPassed, totalFailed, totalSkipped, failedTestcases,
+                skippedTestcases, TestResultListener.getModuleWiseTests(moduleTestCount), summaryCount,
+                TestResultListener.getAutomationSummaryCount(summaryCount));
+    }
+}
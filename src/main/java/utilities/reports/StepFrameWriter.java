@@ -0,0 +1,70 @@
+package utilities.reports;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.roopesh.actions.StepFrameRecorder;
+import org.roopesh.actions.StepFrameRecorder.StepFrame;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Writes the step history of a failed test next to the report and builds the report log that links it.
+ * <p>
+ * The page sources are written to {@code steps/<test id>/}, the screenshots go through the
+ * {@link ScreenshotProcessor} like the failure screenshot.
+ */
+final class StepFrameWriter {
+    static final String STEP_FOLDER = "steps";
+    private static final Logger log = LogManager.getLogger(StepFrameWriter.class);
+
+    private final Path reportDirectory;
+    private final ScreenshotProcessor screenshotProcessor;
+
+    StepFrameWriter(Path reportDirectory, ScreenshotProcessor screenshotProcessor) {
+        this.reportDirectory = reportDirectory;
+        this.screenshotProcessor = screenshotProcessor;
+    }
+
+    /**
+     * Writes the frames and returns the HTML step history to log in the report.
+     *
+     * @param testId the id of the test node the frames belong to
+     * @param frames the recorded frames, oldest first
+     * @return the step history with links to the written files, relative to the report directory
+     */
+    String write(String testId, List<StepFrame> frames) {
+        String testFolder = STEP_FOLDER + "/" + testId.replaceAll("[^A-Za-z0-9._-]", "_");
+        StringBuilder history = new StringBuilder("<b>Last ").append(frames.size()).append(" steps</b><ol>");
+        for (int i = 0; i < frames.size(); i++) {
+            StepFrame frame = frames.get(i);
+            history.append("<li>").append(escape(frame.stepName())).append(" (").append(frame.durationMillis()).append(" ms)");
+            if (frame.failure() != null) {
+                history.append(" <b>").append(escape(frame.failure())).append("</b>");
+            }
+            try {
+                if (frame.source() != null) {
+                    String sourcePath = testFolder + "/" + String.format("%02d", i + 1) + "-source.xml";
+                    Path target = reportDirectory.resolve(sourcePath);
+                    Files.createDirectories(target.getParent());
+                    Files.writeString(target, StepFrameRecorder.inflate(frame.source()), StandardCharsets.UTF_8);
+                    history.append(" <a href='").append(sourcePath).append("'>source</a>");
+                }
+                if (frame.screenshot() != null) {
+                    history.append(" <a href='").append(screenshotProcessor.store(frame.screenshot())).append("'>screenshot</a>");
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("Unable to write the step frame {} of {}", i + 1, testId, e);
+            }
+            history.append("</li>");
+        }
+        return history.append("</ol>").toString();
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("'", "&#39;").replace("\"", "&quot;");
+    }
+}
@@ -1,32 +1,52 @@
 package utilities.reports;
 
-import lombok.Getter;
-
-@Getter
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Passed, failed and skipped counts of a module.
+ * <p>
+ * Every outcome has its own {@link LongAdder}, so parallel test threads update the counts without contention
+ * or lost updates.
+ */
 public class TestCount {
-    private final int totalTests;
-    private int passedTests;
-    private int failedTests;
-    private int skippedTests;
+    private final Map<Outcome, LongAdder> counts = new EnumMap<>(Outcome.class);
 
     public TestCount() {
-        this.totalTests = 0;
-        this.passedTests = 0;
-        this.failedTests = 0;
-        this.skippedTests = 0;
+        for (Outcome outcome : Outcome.values()) {
+            counts.put(outcome, new LongAdder());
+        }
+    }
+
+    public void increment(Outcome outcome) {
+        counts.get(outcome).increment();
     }
 
-    public void addPassed() {
-        passedTests++;
+    public void decrement(Outcome outcome) {
+        counts.get(outcome).decrement();
     }
 
-    public void addFailed() {
-        failedTests++;
+    public int getPassedTests() {
+        return counts.get(Outcome.PASSED).intValue();
     }
 
-    public void addSkipped() {
-        skippedTests++;
+    public int getFailedTests() {
+        return counts.get(Outcome.FAILED).intValue();
     }
 
+    public int getSkippedTests() {
+        return counts.get(Outcome.SKIPPED).intValue();
+    }
 
-}
\ No newline at end of file
+    public int getTotalTests() {
+        return getPassedTests() + getFailedTests() + getSkippedTests();
+    }
+
+    /**
+     * The final outcome of a test.
+     */
+    public enum Outcome {
+        PASSED, FAILED, SKIPPED
+    }
+}
@@ -0,0 +1,76 @@
+package utilities.reports;
+
+import org.testng.ITestNGMethod;
+import org.testng.annotations.Test;
+import utilities.annotations.MobileTest;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The module and test name of a test method, read from its {@link MobileTest} and {@link Test} annotations.
+ * <p>
+ * The annotations are resolved once per method and cached, the listener callbacks only do a map lookup.
+ *
+ * @param moduleName the {@link MobileTest#moduleName()} of the declaring class
+ * @param testName   the {@link Test#testName()} of the method
+ */
+public record TestMetadata(String moduleName, String testName) {
+    private static final Map<Method, TestMetadata> METADATA = new ConcurrentHashMap<>();
+    private static final ThreadLocal<TestMetadata> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Returns the metadata of the given test method.
+     *
+     * @param method the test method
+     * @return the cached metadata of the method
+     */
+    public static TestMetadata of(ITestNGMethod method) {
+        return of(method.getConstructorOrMethod().getMethod());
+    }
+
+    /**
+     * Returns the metadata of the given test method.
+     *
+     * @param method the test method
+     * @return the cached metadata of the method
+     */
+    public static TestMetadata of(Method method) {
+        return METADATA.computeIfAbsent(method, TestMetadata::resolve);
+    }
+
+    /**
+     * Returns the metadata of the test running on the current thread.
+     *
+     * @return the metadata, or null outside a test
+     */
+    public static TestMetadata current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Sets the test running on the current thread.
+     *
+     * @param metadata the metadata of the test
+     */
+    public static void setCurrent(TestMetadata metadata) {
+        CURRENT.set(metadata);
+    }
+
+    /**
+     * Clears the test running on the current thread, so the metrics recorded afterwards on the thread are not
+     * attributed to the finished test.
+     */
+    public static void clearCurrent() {
+        CURRENT.remove();
+    }
+
+    private static TestMetadata resolve(Method method) {
+        MobileTest mobileTest = method.getDeclaringClass().getDeclaredAnnotation(MobileTest.class);
+        Test test = method.getDeclaredAnnotation(Test.class);
+        String moduleName = mobileTest != null ? mobileTest.moduleName() : method.getDeclaringClass().getSimpleName();
+        String testName = test != null && !test.testName().isEmpty() ? test.testName() : method.getName();
+        return new TestMetadata(moduleName, testName);
+    }
+}
@@ -1,34 +1,39 @@
 package utilities.reports;
 
-import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.roopesh.actions.StepFrameRecorder;
 import org.roopesh.appium.AppiumDriverManager;
 import org.roopesh.config.Config;
-import org.roopesh.customExceptions.PageElementException;
+import org.roopesh.constants.FileConstant;
 import org.openqa.selenium.OutputType;
-import org.openqa.selenium.io.FileHandler;
+import org.openqa.selenium.WebDriverException;
 import org.testng.*;
-import org.testng.annotations.Test;
 import utilities.annotations.MobileTest;
+import utilities.metrics.FrameworkMetrics;
+import utilities.reports.TestCount.Outcome;
 
-import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static utilities.emailConfig.Mailer.sendEmail;
 
 public class TestResultListener implements ITestListener, ISuiteListener {
-    private static final Map<ITestNGMethod, String> passedTests = new LinkedHashMap<>();
-    private static final Map<ITestNGMethod, String> failedTests = new LinkedHashMap<>();
-    private static final Map<ITestNGMethod, String> skippedTests = new LinkedHashMap<>();
+    private static final Map<TestKey, RecordedOutcome> outcomes = new ConcurrentHashMap<>();
+    private static final Map<String, TestCount> moduleTestCount = new ConcurrentHashMap<>();
     private final Logger log = LogManager.getLogger(TestResultListener.class);
-    private final Map<String, TestCount> moduleTestCount = new LinkedHashMap<>();
     private final Map<String, AutomationSummary> automationSummary = new LinkedHashMap<>();
     private String title;
     private long startTime;
 
-    private static List<Object> getAutomationSummaryCount(List<List<Object>> summaryCount) {
+    static List<Object> getAutomationSummaryCount(List<List<Object>> summaryCount) {
         int totalManualTestcases = 0;
         int totalAutomatableTestcases = 0;
         int totalAutomatedTestcases = 0;
@@ -46,31 +51,39 @@ public class TestResultListener implements ITestListener, ISuiteListener {
 
     @Override
     public void onTestStart(ITestResult result) {
-        String moduleName = result.getMethod().getConstructorOrMethod().getDeclaringClass().getDeclaredAnnotation(MobileTest.class).moduleName();
-        moduleTestCount.computeIfAbsent(moduleName, _ -> new TestCount());
+        TestMetadata metadata = TestMetadata.of(result.getMethod());
+        TestMetadata.setCurrent(metadata);
+        moduleTestCount.computeIfAbsent(metadata.moduleName(), _ -> new TestCount());
     }
 
     @Override
     public void onTestSuccess(ITestResult result) {
-        passedTests.put(result.getMethod(), result.getMethod().getConstructorOrMethod().getDeclaringClass().getDeclaredAnnotation(MobileTest.class).moduleName());
+        ExtentReportController.endTest(Status.PASS, null);
+        recordOutcome(result, Outcome.PASSED);
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
-        ExtentTest test = ExtentReportController.getTest();
-        String screenshotPath = captureScreenshot(result.getMethod().getMethodName());
-        test.addScreenCaptureFromPath(screenshotPath);
-        failedTests.put(result.getMethod(), result.getMethod().getConstructorOrMethod().getDeclaringClass().getDeclaredAnnotation(MobileTest.class).moduleName());
+        byte[] screenshot = captureScreenshot();
+        if (screenshot != null) {
+            FrameworkMetrics.screenshotTaken("failure");
+            ExtentReportController.attachScreenshot(screenshot);
+        }
+        ExtentReportController.attachStepFrames(StepFrameRecorder.frames());
+        ExtentReportController.endTest(Status.FAIL, failureDetails(result));
+        recordOutcome(result, Outcome.FAILED);
     }
 
     @Override
     public void onTestSkipped(ITestResult result) {
-        skippedTests.put(result.getMethod(), result.getMethod().getConstructorOrMethod().getDeclaringClass().getDeclaredAnnotation(MobileTest.class).moduleName());
+        ExtentReportController.endTest(Status.SKIP, failureDetails(result));
+        recordOutcome(result, Outcome.SKIPPED);
     }
 
     @Override
     public void onStart(ISuite context) {
         title = context.getName();
+        outcomes.clear();
         moduleTestCount.clear();
         startTime = System.currentTimeMillis();
         log.info("Suite {} started...", context.getName());
@@ -84,41 +97,32 @@ public class TestResultListener implements ITestListener, ISuiteListener {
         int totalSkipped;
         int totalTestsCount;
         long endTime = System.currentTimeMillis();
-        long duration = endTime - startTime;
-        long seconds = (duration / 1000) % 60;
-        long minutes = (duration / (1000 * 60)) % 60;
-        long hours = (duration / (1000 * 60 * 60)) % 24;
         String testRunName = context.getParameter("testRunName");
-        String executionTime = hours + " : " + minutes + " : " + seconds;
+        String executionTime = formatExecutionTime(endTime - startTime);
 
-        List<String> passedTestcases = new ArrayList<>();
-        for (Map.Entry<ITestNGMethod, String> entry : passedTests.entrySet()) {
-            String testcaseName = entry.getKey().getConstructorOrMethod().getMethod().getDeclaredAnnotation(Test.class).testName();
-            passedTestcases.add(testcaseName);
-            moduleTestCount.get(entry.getValue()).addPassed();
-        }
         List<String> failedTestcases = new ArrayList<>();
-        for (HashMap.Entry<ITestNGMethod, String> entry : failedTests.entrySet()) {
-            String testcaseName = entry.getKey().getConstructorOrMethod().getMethod().getDeclaredAnnotation(Test.class).testName();
-            failedTestcases.add(testcaseName);
-            moduleTestCount.get(entry.getValue()).addFailed();
-        }
         List<String> skippedTestcases = new ArrayList<>();
-        for (HashMap.Entry<ITestNGMethod, String> entry : skippedTests.entrySet()) {
-            String testcaseName = entry.getKey().getConstructorOrMethod().getMethod().getDeclaredAnnotation(Test.class).testName();
-            if (!passedTestcases.contains(testcaseName) && !failedTestcases.contains(testcaseName)) {
-                skippedTestcases.add(testcaseName);
-                moduleTestCount.get(entry.getValue()).addSkipped();
+        for (RecordedOutcome recorded : outcomes.values()) {
+            if (recorded.outcome() == Outcome.FAILED) {
+                failedTestcases.add(recorded.metadata().testName());
+            } else if (recorded.outcome() == Outcome.SKIPPED) {
+                skippedTestcases.add(recorded.metadata().testName());
             }
         }
 
-        totalPassed = passedTestcases.size();
-        totalFailed = failedTestcases.size();
-        totalSkipped = skippedTestcases.size();
+        totalPassed = 0;
+        totalFailed = 0;
+        totalSkipped = 0;
+        for (TestCount count : moduleTestCount.values()) {
+            totalPassed += count.getPassedTests();
+            totalFailed += count.getFailedTests();
+            totalSkipped += count.getSkippedTests();
+        }
         totalTestsCount = totalPassed + totalFailed + totalSkipped;
 
-        List<Object> moduleWiseTests = getModuleWiseTests();
+        List<Object> moduleWiseTests = getModuleWiseTests(moduleTestCount);
         Result automationSummary = getAutomationSummary(context);
+        writeResultShard(testRunName, endTime);
 
         if (Boolean.parseBoolean(Config.getConfigProperty(Config.ConfigProperty.IS_EMAIL_REPORT_ENABLED))) {
             log.info("Email Reporting is Enabled");
@@ -129,13 +133,58 @@ public class TestResultListener implements ITestListener, ISuiteListener {
 
     }
 
-    private List<Object> getModuleWiseTests() {
+    static String formatExecutionTime(long duration) {
+        long seconds = (duration / 1000) % 60;
+        long minutes = (duration / (1000 * 60)) % 60;
+        long hours = (duration / (1000 * 60 * 60)) % 24;
+        return hours + " : " + minutes + " : " + seconds;
+    }
+
+    /**
+     * Writes the {@link ResultShard} of the run next to the report, so it can be merged with the shards of other
+     * JVMs by the {@link ShardMerger}.
+     *
+     * @param testRunName the {@code testRunName} suite parameter
+     * @param endTime     the epoch millis when the suite finished
+     */
+    private void writeResultShard(String testRunName, long endTime) {
+        String reportPath = System.getProperty("automationReportPath");
+        if (reportPath == null) {
+            return;
+        }
+        List<ResultShard.ModuleSummary> modules = new ArrayList<>();
+        automationSummary.forEach((moduleName, summary) -> modules.add(new ResultShard.ModuleSummary(moduleName,
+                summary.getManualTestcaseCount(), summary.getAutomatableTestcaseCount(), summary.getAutomatedCount())));
+        ResultShard.Header header = new ResultShard.Header(ResultShard.FORMAT, ResultShard.VERSION, title, testRunName,
+                hostName(), startTime, endTime, FileConstant.REPORT_JOURNAL_FILE, modules);
+        List<ResultShard.TestEntry> entries = new ArrayList<>(outcomes.size());
+        for (RecordedOutcome recorded : outcomes.values()) {
+            entries.add(new ResultShard.TestEntry(recorded.metadata().moduleName(), recorded.metadata().testName(),
+                    recorded.outcome().name(), recorded.startMillis(), recorded.endMillis(), recorded.reportTestId()));
+        }
+        Path shardPath = Paths.get(reportPath).toAbsolutePath().resolveSibling(FileConstant.RESULT_SHARD_FILE);
+        try {
+            ResultShard.write(shardPath, header, entries);
+            log.info("Result shard written to {}", shardPath);
+        } catch (IOException e) {
+            log.error("Unable to write the result shard {}", shardPath, e);
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+
+    static List<Object> getModuleWiseTests(Map<String, TestCount> moduleTestCount) {
         List<Object> moduleWiseTests = new ArrayList<>();
-        for (Map.Entry<String, TestCount> entry : moduleTestCount.entrySet()) {
+        for (Map.Entry<String, TestCount> entry : new TreeMap<>(moduleTestCount).entrySet()) {
             List<Object> moduleData = new ArrayList<>();
             moduleData.add(entry.getKey());
-            int total = entry.getValue().getPassedTests() + entry.getValue().getFailedTests() + entry.getValue().getSkippedTests();
-            moduleData.add(total);
+            moduleData.add(entry.getValue().getTotalTests());
             moduleData.add(entry.getValue().getPassedTests());
             moduleData.add(entry.getValue().getFailedTests());
             moduleData.add(entry.getValue().getSkippedTests());
@@ -156,13 +205,13 @@ public class TestResultListener implements ITestListener, ISuiteListener {
             }
         }
 
-        List<List<Object>> summaryCount = getSummaryCount();
+        List<List<Object>> summaryCount = getSummaryCount(automationSummary);
 
         List<Object> automationSummaryCount = getAutomationSummaryCount(summaryCount);
         return new Result(summaryCount, automationSummaryCount);
     }
 
-    private List<List<Object>> getSummaryCount() {
+    static List<List<Object>> getSummaryCount(Map<String, AutomationSummary> automationSummary) {
         List<List<Object>> summaryCount = new ArrayList<>();
         for (Map.Entry<String, AutomationSummary> summaryEntry : automationSummary.entrySet()) {
             List<Object> summaryData = new ArrayList<>();
@@ -175,25 +224,62 @@ public class TestResultListener implements ITestListener, ISuiteListener {
         return summaryCount;
     }
 
-    public String captureScreenshot(String testName) {
-        String screenshotDir = "screenshots/";
-        File screenshot = AppiumDriverManager.driver().getScreenshotAs(OutputType.FILE);
-
-        File directory = new File(screenshotDir);
-        if (!directory.exists()) {
-            directory.mkdir();
-        }
-
-        String destinationName;
+    /**
+     * Grabs the screenshot of the current session. Encoding and storing it is left to the report.
+     *
+     * @return the PNG bytes, or null if the session could not take a screenshot
+     */
+    public byte[] captureScreenshot() {
         try {
-            destinationName = screenshotDir + testName + ".png";
-            File destinationFile = new File(destinationName);
-            FileHandler.copy(screenshot, destinationFile);
-            System.out.println("Screenshot saved at: " + destinationFile.getAbsolutePath());
-        } catch (IOException e) {
-            throw new PageElementException(e);
+            return AppiumDriverManager.driver().getScreenshotAs(OutputType.BYTES);
+        } catch (WebDriverException e) {
+            log.error("Unable to capture the screenshot", e);
+            return null;
         }
-        return destinationName;
+    }
+
+    /**
+     * Records the outcome of a test execution.
+     * <p>
+     * A test is identified by its method and parameters, so the retries of a test collapse into a single entry.
+     * A pass or a failure replaces the previous outcome, a skip is only kept if the test has no other outcome.
+     * The module counts are moved along with the outcome.
+     *
+     * @param result  the test result
+     * @param outcome the outcome of this execution
+     */
+    private static void recordOutcome(ITestResult result, Outcome outcome) {
+        TestMetadata metadata = TestMetadata.of(result.getMethod());
+        TestCount count = moduleTestCount.computeIfAbsent(metadata.moduleName(), _ -> new TestCount());
+        TestKey key = new TestKey(result.getMethod().getConstructorOrMethod().getMethod(), Arrays.asList(result.getParameters()));
+        RecordedOutcome recorded = new RecordedOutcome(metadata, outcome, result.getStartMillis(), result.getEndMillis(),
+                ExtentReportController.currentTestId());
+        outcomes.compute(key, (_, previous) -> {
+            if (previous == null) {
+                count.increment(outcome);
+                return recorded;
+            }
+            if (outcome == Outcome.SKIPPED) {
+                return previous;
+            }
+            if (previous.outcome() != outcome) {
+                count.decrement(previous.outcome());
+                count.increment(outcome);
+            }
+            return recorded;
+        });
+    }
+
+    private static String failureDetails(ITestResult result) {
+        Throwable throwable = result.getThrowable();
+        return throwable == null ? null : throwable.toString();
+    }
+
+    private record TestKey(Method method, List<Object> parameters) {
+    }
+
+    private record RecordedOutcome(TestMetadata metadata, Outcome outcome, long startMillis, long endMillis,
+                                   String reportTestId) {
     }
 
     private record Result(List<List<Object>> summaryCount, List<Object> automationSummaryCount) {
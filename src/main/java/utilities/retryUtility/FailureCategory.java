@@ -0,0 +1,102 @@
+package utilities.retryUtility;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.roopesh.config.Config.ConfigProperty;
+
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.net.http.HttpTimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * The cause of a test failure, which decides how often and how the test is retried.
+ */
+public enum FailureCategory {
+    /**
+     * The session could not be created, the hub could not be reached or answered with a 5xx. Retried with backoff on
+     * a new session. Other IO errors, like a failed API call of the test or a missing data file, are not included.
+     */
+    INFRASTRUCTURE(ConfigProperty.RETRY_INFRASTRUCTURE_COUNT, false),
+    /**
+     * An element was not found or did not reach the expected state in time. Retried on the same session.
+     */
+    ELEMENT_TIMEOUT(ConfigProperty.RETRY_ELEMENT_TIMEOUT_COUNT, true),
+    /**
+     * An assertion of the test failed. Deterministic, so not retried by default.
+     */
+    ASSERTION(ConfigProperty.RETRY_ASSERTION_COUNT, true),
+    /**
+     * Any other error.
+     */
+    OTHER(ConfigProperty.RETRY_OTHER_COUNT, true);
+
+    private static final Pattern HUB_SERVER_ERROR = Pattern.compile(
+            "(?:HTTP|status|code)\\D{0,3}5\\d\\d\\b|Bad Gateway|Service Unavailable|Gateway Time-?out|Internal Server Error",
+            Pattern.CASE_INSENSITIVE);
+
+    private final ConfigProperty retryCountProperty;
+    private final boolean sessionReusable;
+
+    FailureCategory(ConfigProperty retryCountProperty, boolean sessionReusable) {
+        this.retryCountProperty = retryCountProperty;
+        this.sessionReusable = sessionReusable;
+    }
+
+    /**
+     * Returns the config property holding how many times a failure of this category is retried.
+     *
+     * @return the retry count property
+     */
+    public ConfigProperty getRetryCountProperty() {
+        return retryCountProperty;
+    }
+
+    /**
+     * Returns whether the session of a failure of this category may be used for the retry.
+     *
+     * @return true if the failure does not point at the session itself
+     */
+    public boolean isSessionReusable() {
+        return sessionReusable;
+    }
+
+    /**
+     * Classifies the given failure by walking its cause chain, the first recognised cause wins.
+     *
+     * @param throwable the failure of the test, may be null
+     * @return the category of the failure
+     */
+    public static FailureCategory classify(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof SessionNotCreatedException || cause instanceof NoSuchSessionException
+                    || cause instanceof UnreachableBrowserException || isTransportError(cause)) {
+                return INFRASTRUCTURE;
+            }
+            if (cause instanceof TimeoutException || cause instanceof NoSuchElementException
+                    || cause instanceof StaleElementReferenceException) {
+                return ELEMENT_TIMEOUT;
+            }
+            if (cause instanceof AssertionError) {
+                return ASSERTION;
+            }
+            if (cause instanceof WebDriverException && cause.getMessage() != null
+                    && HUB_SERVER_ERROR.matcher(cause.getMessage().lines().findFirst().orElse("")).find()) {
+                return INFRASTRUCTURE;
+            }
+        }
+        return OTHER;
+    }
+
+    private static boolean isTransportError(Throwable cause) {
+        return cause instanceof ConnectException || cause instanceof SocketException || cause instanceof SocketTimeoutException
+                || cause instanceof HttpTimeoutException || cause instanceof UnknownHostException;
+    }
+}
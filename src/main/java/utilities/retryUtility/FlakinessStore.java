@@ -0,0 +1,212 @@
+package utilities.retryUtility;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.roopesh.config.Config;
+import org.roopesh.config.Config.ConfigProperty;
+import org.roopesh.constants.FileConstant;
+import utilities.reports.TestMetadata;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Local, append-only history of the test outcomes across runs, and the flakiness score computed from it.
+ * <p>
+ * Every attempt of a test is a line of {@code outcomes.jsonl} in the {@code testHistoryDirectory}, keyed by the
+ * {@link utilities.annotations.MobileTest} module and the {@code @Test(testName)}. The history is read once when
+ * the suite starts; the attempts of the run are appended in one locked write when it finishes, so parallel forks
+ * sharing the folder do not interleave their lines.
+ * <p>
+ * The score of a test is the share of fail to pass transitions between its consecutive outcomes over the last
+ * {@code flakinessWindow} attempts. A test that always passes or always fails scores 0.
+ */
+public final class FlakinessStore {
+    public static final String HISTORY_FILE = "outcomes.jsonl";
+    private static final Logger log = LogManager.getLogger(FlakinessStore.class);
+    private static final Gson GSON = new Gson();
+
+    private final Path historyFile;
+    private final int window;
+    private final int minHistory;
+    private final double quarantineThreshold;
+    private final Map<String, Deque<Boolean>> history = new ConcurrentHashMap<>();
+    private final Queue<HistoryEntry> pending = new ConcurrentLinkedQueue<>();
+
+    private FlakinessStore(Path historyFile, int window, int minHistory, double quarantineThreshold) {
+        this.historyFile = historyFile;
+        this.window = window;
+        this.minHistory = minHistory;
+        this.quarantineThreshold = quarantineThreshold;
+    }
+
+    /**
+     * Returns the store of the project, loaded from the config on first use.
+     *
+     * @return the {@link FlakinessStore}
+     */
+    public static FlakinessStore getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    /**
+     * Returns the flakiness score of the given test.
+     *
+     * @param test the test
+     * @return the score between 0 and 1, or 0 if the test has fewer than {@code flakinessMinHistory} outcomes
+     */
+    public double score(TestMetadata test) {
+        Deque<Boolean> outcomes = history.get(key(test));
+        if (outcomes == null || outcomes.size() < Math.max(minHistory, 2)) {
+            return 0;
+        }
+        int transitions = 0;
+        Boolean previous = null;
+        synchronized (outcomes) {
+            for (Boolean passed : outcomes) {
+                if (Boolean.FALSE.equals(previous) && passed) {
+                    transitions++;
+                }
+                previous = passed;
+            }
+            return (double) transitions / (outcomes.size() - 1);
+        }
+    }
+
+    /**
+     * Returns whether the given test has enough history to be scored.
+     *
+     * @param test the test
+     * @return true if the test has at least {@code flakinessMinHistory} outcomes
+     */
+    public boolean hasHistory(TestMetadata test) {
+        Deque<Boolean> outcomes = history.get(key(test));
+        return outcomes != null && outcomes.size() >= minHistory;
+    }
+
+    /**
+     * Returns whether the given test is flaky enough to run in the quarantine group.
+     *
+     * @param test the test
+     * @return true if the score of the test reaches {@code quarantineThreshold}
+     */
+    public boolean isQuarantined(TestMetadata test) {
+        return score(test) >= quarantineThreshold;
+    }
+
+    /**
+     * Records an attempt of a test. The attempt is kept in memory until {@link #flush()}.
+     *
+     * @param test   the test
+     * @param passed whether the attempt passed
+     */
+    public void record(TestMetadata test, boolean passed) {
+        add(key(test), passed);
+        pending.add(new HistoryEntry(test.moduleName(), test.testName(), passed ? "PASSED" : "FAILED",
+                System.currentTimeMillis()));
+    }
+
+    /**
+     * Appends the attempts recorded since the last flush to the history file.
+     */
+    public void flush() {
+        StringBuilder lines = new StringBuilder();
+        HistoryEntry entry;
+        while ((entry = pending.poll()) != null) {
+            lines.append(GSON.toJson(entry)).append('\n');
+        }
+        if (lines.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(historyFile.getParent());
+            try (FileChannel channel = FileChannel.open(historyFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+                 FileLock _ = channel.lock()) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Unable to append the test outcomes to {}", historyFile, e);
+        }
+    }
+
+    private void load() {
+        if (!Files.exists(historyFile)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(historyFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    HistoryEntry entry = GSON.fromJson(line, HistoryEntry.class);
+                    add(entry.moduleName() + "/" + entry.testName(), "PASSED".equals(entry.outcome()));
+                } catch (JsonParseException e) {
+                    log.warn("Skipping the malformed test history line {}", line);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Unable to read the test history {}", historyFile, e);
+        }
+    }
+
+    private void add(String key, boolean passed) {
+        Deque<Boolean> outcomes = history.computeIfAbsent(key, _ -> new ArrayDeque<>(window));
+        synchronized (outcomes) {
+            if (outcomes.size() >= window) {
+                outcomes.removeFirst();
+            }
+            outcomes.addLast(passed);
+        }
+    }
+
+    private static String key(TestMetadata test) {
+        return test.moduleName() + "/" + test.testName();
+    }
+
+    /**
+     * A single attempt of a test, one line of the history file.
+     *
+     * @param moduleName the module of the test
+     * @param testName   the name of the test
+     * @param outcome    PASSED or FAILED
+     * @param timestamp  the epoch millis when the attempt finished
+     */
+    record HistoryEntry(String moduleName, String testName, String outcome, long timestamp) {
+    }
+
+    private static class LazyHolder {
+        private static final FlakinessStore INSTANCE = create();
+
+        private static FlakinessStore create() {
+            FlakinessStore store = new FlakinessStore(
+                    Paths.get(FileConstant.SYSTEM_DIRECTORY, Config.getConfigProperty(ConfigProperty.TEST_HISTORY_DIRECTORY).trim(), HISTORY_FILE),
+                    Integer.parseInt(Config.getConfigProperty(ConfigProperty.FLAKINESS_WINDOW).trim()),
+                    Integer.parseInt(Config.getConfigProperty(ConfigProperty.FLAKINESS_MIN_HISTORY).trim()),
+                    Double.parseDouble(Config.getConfigProperty(ConfigProperty.QUARANTINE_THRESHOLD).trim()));
+            store.load();
+            return store;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package utilities.retryUtility;
+
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Runs the tests of the {@link RetryListener#QUARANTINE_GROUP} after all the other tests of the suite, keeping the
+ * order of both.
+ * <p>
+ * The quarantined tests can also be run in a lane of their own by a suite XML that includes the
+ * {@code quarantine} group, and left out of the main lane by one that excludes it.
+ */
+public class QuarantineInterceptor implements IMethodInterceptor {
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        return methods.stream()
+                .sorted(Comparator.comparing(QuarantineInterceptor::isQuarantined))
+                .toList();
+    }
+
+    private static boolean isQuarantined(IMethodInstance method) {
+        return Arrays.asList(method.getMethod().getGroups()).contains(RetryListener.QUARANTINE_GROUP);
+    }
+}
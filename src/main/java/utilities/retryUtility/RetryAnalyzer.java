@@ -1,19 +1,71 @@
 package utilities.retryUtility;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.testng.IRetryAnalyzer;
 import org.testng.ITestResult;
+import utilities.metrics.FrameworkMetrics;
+import utilities.reports.TestMetadata;
 
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Retries a failed test according to the {@link RetryPolicy} of the {@link FailureCategory} of its failure.
+ * <p>
+ * The decision is stored on the {@link ITestResult}, so the {@code @AfterMethod} of the failed attempt knows
+ * whether the session may be kept for the retry and how long to back off before the next one is created.
+ */
 public class RetryAnalyzer implements IRetryAnalyzer {
-    private int retryCount = 0;
+    private static final Logger log = LogManager.getLogger(RetryAnalyzer.class);
+    private static final String REUSE_SESSION_ATTRIBUTE = "retry.reuseSession";
+    private static final String BACKOFF_ATTRIBUTE = "retry.backoffMillis";
 
+    private final Map<FailureCategory, Integer> retryCounts = new EnumMap<>(FailureCategory.class);
 
     @Override
     public boolean retry(ITestResult iTestResult) {
-        int maxRetryCount = 2;
-        if (retryCount < maxRetryCount) {
-            retryCount++;
-            return true;
+        RetryPolicy policy = RetryListener.policy();
+        FailureCategory category = FailureCategory.classify(iTestResult.getThrowable());
+        TestMetadata test = TestMetadata.of(iTestResult.getMethod());
+        int retries = retryCounts.getOrDefault(category, 0);
+        if (!policy.tryRetry(category, test, retries)) {
+            log.info("{} is not retried after {} {} retries, {} retries left in the suite budget",
+                    iTestResult.getName(), retries, category, policy.getRemainingBudget());
+            return false;
+        }
+        retryCounts.put(category, retries + 1);
+        iTestResult.setAttribute(REUSE_SESSION_ATTRIBUTE, policy.reusesSession(category));
+        iTestResult.setAttribute(BACKOFF_ATTRIBUTE, policy.backoffMillis(category, retries));
+        log.info("Retrying {} after a {} failure, {} retries left in the suite budget", iTestResult.getName(), category,
+                policy.getRemainingBudget());
+        FrameworkMetrics.testRetried(test);
+        return true;
+    }
+
+    /**
+     * Returns whether the retry of the given failed attempt may run on its session.
+     *
+     * @param result the failed attempt
+     * @return true if the attempt is retried and its failure does not point at the session
+     */
+    public static boolean reusesSession(ITestResult result) {
+        return result.wasRetried() && Boolean.TRUE.equals(result.getAttribute(REUSE_SESSION_ATTRIBUTE));
+    }
+
+    /**
+     * Waits for the backoff of the given failed attempt, once its session is released.
+     *
+     * @param result the failed attempt
+     */
+    public static void awaitBackoff(ITestResult result) {
+        if (result.wasRetried() && result.getAttribute(BACKOFF_ATTRIBUTE) instanceof Long backoffMillis && backoffMillis > 0) {
+            log.info("Backing off {} ms before retrying {}", backoffMillis, result.getName());
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
         }
-        return false;
     }
 }
@@ -3,12 +3,32 @@ package utilities.retryUtility;
 import org.roopesh.config.Config;
 import org.roopesh.config.Config.ConfigProperty;
 import org.testng.IAnnotationTransformer;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
 import org.testng.annotations.ITestAnnotation;
+import utilities.reports.TestMetadata;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 
-public class RetryListener implements IAnnotationTransformer {
+public class RetryListener implements IAnnotationTransformer, ISuiteListener, ITestListener {
+    /**
+     * The group the flaky tests are moved to, run after the other tests by the {@link QuarantineInterceptor}.
+     */
+    public static final String QUARANTINE_GROUP = "quarantine";
+    private static final RetryPolicy POLICY = RetryPolicy.fromConfig();
+
+    /**
+     * Returns the retry policy applied by the {@link RetryAnalyzer}.
+     *
+     * @return the {@link RetryPolicy} read from the config
+     */
+    public static RetryPolicy policy() {
+        return POLICY;
+    }
 
     @Override
     public void transform(ITestAnnotation annotation,
@@ -18,5 +38,51 @@ public class RetryListener implements IAnnotationTransformer {
         if (Config.getBoolConfigProperty(ConfigProperty.IS_RETRY_ENABLED)) {
             annotation.setRetryAnalyzer(RetryAnalyzer.class);
         }
+        if (testMethod != null && Boolean.parseBoolean(Config.getConfigProperty(ConfigProperty.IS_QUARANTINE_ENABLED))
+                && FlakinessStore.getInstance().isQuarantined(TestMetadata.of(testMethod))) {
+            String[] groups = Arrays.copyOf(annotation.getGroups(), annotation.getGroups().length + 1);
+            groups[groups.length - 1] = QUARANTINE_GROUP;
+            annotation.setGroups(groups);
+        }
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        POLICY.resetBudget();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        FlakinessStore.getInstance().flush();
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        FlakinessStore.getInstance().record(TestMetadata.of(result.getMethod()), true);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        recordFailure(result);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        // a retried attempt is reported as skipped, it failed all the same
+        if (result.wasRetried()) {
+            recordFailure(result);
+        }
+    }
+
+    /**
+     * Records the failed attempt, unless it failed on the infrastructure: a farm outage followed by a pass says
+     * nothing about the test, and must not quarantine it.
+     *
+     * @param result the failed attempt
+     */
+    private static void recordFailure(ITestResult result) {
+        if (FailureCategory.classify(result.getThrowable()) != FailureCategory.INFRASTRUCTURE) {
+            FlakinessStore.getInstance().record(TestMetadata.of(result.getMethod()), false);
+        }
     }
 }
@@ -0,0 +1,131 @@
+package utilities.retryUtility;
+
+import org.roopesh.config.Config;
+import org.roopesh.config.Config.ConfigProperty;
+import utilities.reports.TestMetadata;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The retry policy of the suite, read from the config.
+ * <p>
+ * Each {@link FailureCategory} has its own retry count, infrastructure failures back off exponentially, and all
+ * retries draw from one suite-wide budget so a broken environment cannot rerun the whole suite.
+ * <p>
+ * A test the {@link FlakinessStore} scores as flaky may get <b>flakyExtraRetries</b> more retries of an element
+ * timeout or another error. The configured counts are never lowered, and assertion and infrastructure failures
+ * always keep their configured count, so an assertion failure is not retried by default however flaky the test.
+ */
+public final class RetryPolicy {
+    private final Map<FailureCategory, Integer> retryCounts = new EnumMap<>(FailureCategory.class);
+    private final long backoffMillis;
+    private final int budget;
+    private final int flakyExtraRetries;
+    private final boolean sessionReuse;
+    private final AtomicInteger remainingBudget;
+    private final FlakinessStore flakinessStore;
+
+    private RetryPolicy(long backoffMillis, int budget, int flakyExtraRetries, boolean sessionReuse, FlakinessStore flakinessStore) {
+        this.backoffMillis = backoffMillis;
+        this.budget = budget;
+        this.flakyExtraRetries = flakyExtraRetries;
+        this.sessionReuse = sessionReuse;
+        this.remainingBudget = new AtomicInteger(budget);
+        this.flakinessStore = flakinessStore;
+    }
+
+    /**
+     * Reads the policy from the config.
+     *
+     * @return the configured policy
+     */
+    public static RetryPolicy fromConfig() {
+        RetryPolicy policy = new RetryPolicy(
+                Long.parseLong(Config.getConfigProperty(ConfigProperty.RETRY_BACKOFF_MILLIS).trim()),
+                Integer.parseInt(Config.getConfigProperty(ConfigProperty.RETRY_BUDGET).trim()),
+                Integer.parseInt(Config.getConfigProperty(ConfigProperty.FLAKY_EXTRA_RETRIES).trim()),
+                Boolean.parseBoolean(Config.getConfigProperty(ConfigProperty.REUSE_SESSION_ON_RETRY)),
+                FlakinessStore.getInstance());
+        for (FailureCategory category : FailureCategory.values()) {
+            policy.retryCounts.put(category, Integer.parseInt(Config.getConfigProperty(category.getRetryCountProperty()).trim()));
+        }
+        return policy;
+    }
+
+    /**
+     * Returns how many times a failure of the given category is retried for the given test.
+     *
+     * @param category the category of the failure
+     * @param test     the failed test
+     * @return the retry count of the category, raised for a flaky test
+     */
+    public int retryCount(FailureCategory category, TestMetadata test) {
+        int retryCount = retryCounts.get(category);
+        if (flakyExtraRetries <= 0 || (category != FailureCategory.ELEMENT_TIMEOUT && category != FailureCategory.OTHER)
+                || !flakinessStore.hasHistory(test)) {
+            return retryCount;
+        }
+        return flakinessStore.score(test) > 0 ? retryCount + flakyExtraRetries : retryCount;
+    }
+
+    /**
+     * Decides whether a failure is retried and takes the retry from the budget if so.
+     *
+     * @param category the category of the failure
+     * @param test     the failed test
+     * @param retries  how many times the failure's category was already retried for the test
+     * @return true if the test is retried
+     */
+    public boolean tryRetry(FailureCategory category, TestMetadata test, int retries) {
+        if (retries >= retryCount(category, test)) {
+            return false;
+        }
+        int remaining;
+        do {
+            remaining = remainingBudget.get();
+            if (remaining <= 0) {
+                return false;
+            }
+        } while (!remainingBudget.compareAndSet(remaining, remaining - 1));
+        return true;
+    }
+
+    /**
+     * Returns the delay before the given retry.
+     *
+     * @param category the category of the failure
+     * @param retries  how many times the failure's category was already retried for the test
+     * @return the delay in milliseconds, zero for the categories retried right away
+     */
+    public long backoffMillis(FailureCategory category, int retries) {
+        return category == FailureCategory.INFRASTRUCTURE ? backoffMillis << Math.min(retries, 10) : 0;
+    }
+
+    /**
+     * Returns whether the retry of a failure of the given category runs on the session of the failed attempt.
+     *
+     * @param category the category of the failure
+     * @return true if the session is kept for the retry
+     */
+    public boolean reusesSession(FailureCategory category) {
+        return sessionReuse && category.isSessionReusable();
+    }
+
+    /**
+     * Returns how many retries are left in the suite budget.
+     *
+     * @return the remaining budget
+     */
+    public int getRemainingBudget() {
+        return remainingBudget.get();
+    }
+
+    /**
+     * Restores the full budget, at the start of a suite.
+     */
+    void resetBudget() {
+        remainingBudget.set(budget);
+    }
+}
@@ -0,0 +1,93 @@
+package utilities.selection;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The classes a compiled class refers to, read from the constant pool of its class file.
+ * <p>
+ * Class literals such as {@code getPage(LoginPage.class)}, method owners, field types and annotation types all
+ * end up in the constant pool, so no bytecode has to be interpreted.
+ *
+ * @param className     the binary name of the class
+ * @param superName     the binary name of the superclass, or null for {@link Object}
+ * @param references    the binary names of the referenced classes
+ * @param typeNames     the type descriptors used by the class, e.g. {@code Lorg/testng/annotations/Test;}
+ */
+record ClassFileReferences(String className, String superName, Set<String> references, Set<String> typeNames) {
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final Pattern DESCRIPTOR_TYPE = Pattern.compile("L([\\w/$]+);");
+
+    /**
+     * Reads the constant pool of the given class file.
+     *
+     * @param classFile the class file
+     * @return the references of the class
+     * @throws IOException if the stream is not a class file
+     */
+    static ClassFileReferences read(InputStream classFile) throws IOException {
+        DataInputStream input = new DataInputStream(classFile);
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        input.readUnsignedShort();
+        input.readUnsignedShort();
+        int poolSize = input.readUnsignedShort();
+        String[] utf8 = new String[poolSize];
+        int[] classNameIndexes = new int[poolSize];
+        for (int i = 1; i < poolSize; i++) {
+            int tag = input.readUnsignedByte();
+            switch (tag) {
+                case 1 -> utf8[i] = input.readUTF();
+                case 7 -> classNameIndexes[i] = input.readUnsignedShort();
+                case 8, 16, 19, 20 -> input.skipBytes(2);
+                case 15 -> input.skipBytes(3);
+                case 3, 4, 9, 10, 11, 12, 17, 18 -> input.skipBytes(4);
+                case 5, 6 -> {
+                    input.skipBytes(8);
+                    i++;
+                }
+                default -> throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+        input.readUnsignedShort();
+        int thisClass = input.readUnsignedShort();
+        int superClass = input.readUnsignedShort();
+
+        Set<String> references = new HashSet<>();
+        Set<String> typeNames = new HashSet<>();
+        for (int i = 1; i < poolSize; i++) {
+            if (classNameIndexes[i] != 0) {
+                String name = utf8[classNameIndexes[i]];
+                if (name.startsWith("[")) {
+                    addDescriptorTypes(name, references, typeNames);
+                } else {
+                    references.add(toBinaryName(name));
+                }
+            } else if (utf8[i] != null && utf8[i].indexOf(';') > 0) {
+                addDescriptorTypes(utf8[i], references, typeNames);
+            }
+        }
+        String className = toBinaryName(utf8[classNameIndexes[thisClass]]);
+        references.remove(className);
+        String superName = superClass == 0 ? null : toBinaryName(utf8[classNameIndexes[superClass]]);
+        return new ClassFileReferences(className, superName, references, typeNames);
+    }
+
+    private static void addDescriptorTypes(String descriptor, Set<String> references, Set<String> typeNames) {
+        Matcher matcher = DESCRIPTOR_TYPE.matcher(descriptor);
+        while (matcher.find()) {
+            typeNames.add(matcher.group());
+            references.add(toBinaryName(matcher.group(1)));
+        }
+    }
+
+    private static String toBinaryName(String internalName) {
+        return internalName.replace('/', '.');
+    }
+}
@@ -0,0 +1,327 @@
+package utilities.selection;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.roopesh.config.Config;
+import org.roopesh.config.Config.ConfigProperty;
+import org.roopesh.constants.FileConstant;
+import org.roopesh.helpers.locators.Locator;
+import org.testng.annotations.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Selects the tests affected by a set of changed files, from the dependency graph of the compiled classes.
+ * <p>
+ * The graph links every test class to the classes it refers to, transitively, and every page to the files it
+ * loads by its simple name: {@code <locatorDirectory>/<Page>.yaml} through {@code LocatorHelper} or its
+ * {@code @Locator} fields, and {@code <testDataDirectory>/<Page>.json} through {@code TestDataHelper}. A test is selected when a class or file in
+ * its graph changed.
+ * <p>
+ * The selection is conservative: a change to any other file (the pom, the config, a suite), to a class no test
+ * reaches (a listener loaded through the service loader) or to a data or locator file no reachable page loads by
+ * its simple name (a file loaded through a name from the config or the test, like the accounts or the data rows)
+ * selects every test.
+ * <pre>{@code git diff --name-only origin/main... | java -cp <classpath> utilities.selection.ImpactedTestSelector target/impacted.xml}</pre>
+ * The changed files may also be passed as arguments after the output suite. The suite attributes and parameters are
+ * copied from {@code src/test/testxmls/localTest.xml}, or from the suite given with {@code --base <suite>}.
+ */
+public final class ImpactedTestSelector {
+    private static final Logger log = LogManager.getLogger(ImpactedTestSelector.class);
+    // built at runtime, a literal descriptor in the constant pool would make this class look like a test class
+    private static final String TEST_ANNOTATION = "L" + Test.class.getName().replace('.', '/') + ";";
+    private static final String BASE_PAGE = "org.roopesh.BasePage";
+    private static final String LOCATOR_HELPER = "org.roopesh.helpers.locators.LocatorHelper";
+    private static final String LOCATOR_ANNOTATION = "L" + Locator.class.getName().replace('.', '/') + ";";
+    private static final String TEST_DATA_HELPER = "org.roopesh.helpers.json.TestDataHelper";
+    private static final String DEFAULT_BASE_SUITE = "src/test/testxmls/localTest.xml";
+    private static final List<String> SOURCE_ROOTS = List.of("src/main/java/", "src/test/java/", "src/jmh/java/");
+    private static final List<String> RESOURCE_ROOTS = List.of("src/main/resources/", "src/test/resources/");
+
+    private final Map<String, ClassFileReferences> classes = new HashMap<>();
+    private final Map<String, Set<String>> closures = new HashMap<>();
+    private final String locatorDirectory = Config.getConfigProperty(ConfigProperty.LOCATOR_DIRECTORY).trim();
+    private final String testDataDirectory = Config.getConfigProperty(ConfigProperty.TESTDATA_DIRECTORY).trim();
+
+    private ImpactedTestSelector() {
+    }
+
+    /**
+     * Writes the suite of the tests affected by the changed files.
+     *
+     * @param args the suite to write, optionally {@code --base <suite>}, then the changed files
+     * @throws IOException if the classes cannot be read or the suite cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ImpactedTestSelector <suite to write> [--base <suite>] [changed file...]");
+            System.exit(1);
+        }
+        Path output = Paths.get(args[0]);
+        Path baseSuite = Paths.get(FileConstant.SYSTEM_DIRECTORY, DEFAULT_BASE_SUITE);
+        List<String> changedFiles = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            if ("--base".equals(args[i]) && i + 1 < args.length) {
+                baseSuite = Paths.get(args[++i]);
+            } else {
+                changedFiles.add(args[i]);
+            }
+        }
+        if (changedFiles.isEmpty()) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))) {
+                reader.lines().map(String::trim).filter(line -> !line.isEmpty()).forEach(changedFiles::add);
+            }
+        }
+        ImpactedTestSelector selector = load(List.of(Paths.get(FileConstant.SYSTEM_DIRECTORY, "target/classes"),
+                Paths.get(FileConstant.SYSTEM_DIRECTORY, "target/test-classes")));
+        SortedSet<String> tests = selector.select(changedFiles);
+        writeSuite(output, Files.exists(baseSuite) ? baseSuite : null, tests);
+        log.info("Selected {} of {} test classes for {} changed files into {}", tests.size(),
+                selector.testClasses().size(), changedFiles.size(), output);
+    }
+
+    /**
+     * Reads the class files of the given folders.
+     *
+     * @param classDirectories the output folders of the compiler
+     * @return the selector of the compiled classes
+     * @throws IOException if a class file cannot be read
+     */
+    public static ImpactedTestSelector load(List<Path> classDirectories) throws IOException {
+        ImpactedTestSelector selector = new ImpactedTestSelector();
+        for (Path directory : classDirectories) {
+            if (!Files.isDirectory(directory)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path classFile : files.filter(file -> file.toString().endsWith(".class")).toList()) {
+                    try (InputStream input = Files.newInputStream(classFile)) {
+                        ClassFileReferences references = ClassFileReferences.read(input);
+                        selector.classes.put(references.className(), references);
+                    }
+                }
+            }
+        }
+        return selector;
+    }
+
+    /**
+     * Returns the compiled classes declaring {@code @Test} methods.
+     *
+     * @return the binary names of the test classes
+     */
+    public SortedSet<String> testClasses() {
+        SortedSet<String> tests = new TreeSet<>();
+        classes.values().stream()
+                .filter(references -> references.typeNames().contains(TEST_ANNOTATION))
+                .filter(references -> !references.className().contains("$"))
+                .forEach(references -> tests.add(references.className()));
+        return tests;
+    }
+
+    /**
+     * Selects the test classes affected by the changed files.
+     *
+     * @param changedFiles the changed files, relative to the project
+     * @return the binary names of the affected test classes
+     */
+    public SortedSet<String> select(Collection<String> changedFiles) {
+        SortedSet<String> tests = testClasses();
+        Set<String> changedClasses = new HashSet<>();
+        Set<String> changedResources = new HashSet<>();
+        for (String changedFile : changedFiles) {
+            String path = changedFile.replace('\\', '/');
+            String className = stripRoot(path, SOURCE_ROOTS);
+            String resource = stripRoot(path, RESOURCE_ROOTS);
+            if (className != null && className.endsWith(".java")) {
+                changedClasses.add(className.substring(0, className.length() - ".java".length()).replace('/', '.'));
+            } else if (resource != null && isPageResource(resource)) {
+                changedResources.add(resource);
+            } else {
+                log.info("{} is not a class or page resource, selecting every test", changedFile);
+                return tests;
+            }
+        }
+
+        Set<String> reachable = new HashSet<>();
+        Set<String> reachableResources = new HashSet<>();
+        SortedSet<String> selected = new TreeSet<>();
+        for (String test : tests) {
+            Set<String> closure = closure(test);
+            reachable.addAll(closure);
+            boolean affected = false;
+            for (String dependency : closure) {
+                Set<String> resources = resourcesOf(dependency);
+                reachableResources.addAll(resources);
+                affected |= isChanged(dependency, changedClasses) || resources.stream().anyMatch(changedResources::contains);
+            }
+            if (affected) {
+                selected.add(test);
+            }
+        }
+        for (String changedResource : changedResources) {
+            if (!reachableResources.contains(changedResource)) {
+                log.info("{} is not loaded by any page a test reaches, selecting every test", changedResource);
+                return tests;
+            }
+        }
+        for (String changedClass : changedClasses) {
+            if (reachable.stream().noneMatch(dependency -> isChanged(dependency, Set.of(changedClass)))) {
+                log.info("{} is not reached by any test, selecting every test", changedClass);
+                return tests;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Returns the project classes the given class depends on, itself included.
+     *
+     * @param className the binary name of the class
+     * @return the transitive project dependencies of the class
+     */
+    Set<String> closure(String className) {
+        Set<String> cached = closures.get(className);
+        if (cached != null) {
+            return cached;
+        }
+        Set<String> closure = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>(List.of(className));
+        while (!pending.isEmpty()) {
+            String current = pending.pop();
+            ClassFileReferences references = classes.get(current);
+            if (references != null && closure.add(current)) {
+                pending.addAll(references.references());
+            }
+        }
+        closures.put(className, closure);
+        return closure;
+    }
+
+    private Set<String> resourcesOf(String className) {
+        ClassFileReferences references = classes.get(className);
+        if (references == null || !isPage(references)) {
+            return Set.of();
+        }
+        String simpleName = className.substring(className.lastIndexOf('.') + 1);
+        Set<String> resources = new HashSet<>();
+        if (references.references().contains(LOCATOR_HELPER) || references.typeNames().contains(LOCATOR_ANNOTATION)) {
+            resources.add(locatorDirectory + "/" + simpleName + ".yaml");
+        }
+        if (references.references().contains(TEST_DATA_HELPER)) {
+            resources.add(testDataDirectory + "/" + simpleName + ".json");
+        }
+        return resources;
+    }
+
+    private boolean isPage(ClassFileReferences references) {
+        for (ClassFileReferences current = references; current != null; current = classes.get(current.superName())) {
+            if (BASE_PAGE.equals(current.superName())) {
+                return true;
+            }
+            if (current.superName() == null) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private boolean isPageResource(String resource) {
+        return (resource.startsWith(locatorDirectory + "/") && resource.endsWith(".yaml"))
+                || (resource.startsWith(testDataDirectory + "/") && resource.endsWith(".json"));
+    }
+
+    private static boolean isChanged(String className, Set<String> changedClasses) {
+        int nested = className.indexOf('$');
+        return changedClasses.contains(nested < 0 ? className : className.substring(0, nested));
+    }
+
+    private static String stripRoot(String path, List<String> roots) {
+        for (String root : roots) {
+            int index = path.indexOf(root);
+            if (index >= 0) {
+                return path.substring(index + root.length());
+            }
+        }
+        return null;
+    }
+
+    private static void writeSuite(Path output, Path baseSuite, Collection<String> tests) throws IOException {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            Document document = builder.newDocument();
+            Element suite = document.createElement("suite");
+            document.appendChild(suite);
+            if (baseSuite != null) {
+                Element base = builder.parse(baseSuite.toFile()).getDocumentElement();
+                for (int i = 0; i < base.getAttributes().getLength(); i++) {
+                    Node attribute = base.getAttributes().item(i);
+                    suite.setAttribute(attribute.getNodeName(), attribute.getNodeValue());
+                }
+                for (Node child = base.getFirstChild(); child != null; child = child.getNextSibling()) {
+                    if ("parameter".equals(child.getNodeName()) || "listeners".equals(child.getNodeName())) {
+                        suite.appendChild(document.importNode(child, true));
+                    }
+                }
+            }
+            suite.setAttribute("name", suite.hasAttribute("name") ? suite.getAttribute("name") + " - Impacted" : "Impacted Tests");
+            if (!tests.isEmpty()) {
+                Element test = document.createElement("test");
+                test.setAttribute("name", "Impacted");
+                Element classesElement = document.createElement("classes");
+                for (String testClass : tests) {
+                    Element classElement = document.createElement("class");
+                    classElement.setAttribute("name", testClass);
+                    classesElement.appendChild(classElement);
+                }
+                test.appendChild(classesElement);
+                suite.appendChild(test);
+            }
+
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+            transformer.setOutputProperty(OutputKeys.DOCTYPE_SYSTEM, "https://testng.org/testng-1.0.dtd");
+            transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
+            if (output.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(output.toAbsolutePath().getParent());
+            }
+            transformer.transform(new DOMSource(document), new StreamResult(output.toFile()));
+        } catch (ParserConfigurationException | SAXException | TransformerException e) {
+            throw new IOException("Unable to write the suite " + output, e);
+        }
+    }
+}
@@ -1,21 +1,23 @@
 package org.roopesh;
 
-import io.restassured.RestAssured;
-import io.restassured.response.Response;
-import io.restassured.specification.RequestSpecification;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.roopesh.accounts.AccountLeasePool;
 import org.roopesh.appium.AppiumDriverManager;
 import org.roopesh.appium.AutomationRunManager;
-import org.roopesh.appium.TestSessionInfo;
+import org.roopesh.appium.SessionReuse;
 import org.roopesh.config.Config;
 import org.roopesh.customExceptions.PageElementException;
+import org.roopesh.preconditions.PreconditionRunner;
 import org.openqa.selenium.SessionNotCreatedException;
 import org.testng.ITestContext;
+import org.testng.ITestResult;
+import org.testng.SkipException;
 import org.testng.annotations.*;
-import utilities.otp.OTPResponse;
-import utilities.otp.OTPUnblocker;
+import utilities.metrics.MetricsExporter;
 import utilities.reports.ExtentReportController;
+import utilities.reports.TestMetadata;
+import utilities.retryUtility.RetryAnalyzer;
 
 import java.lang.reflect.Method;
 import java.net.MalformedURLException;
@@ -31,9 +33,7 @@ import static org.roopesh.helpers.AssertHelper.assertFail;
 
 public class BaseTest extends BaseFramework {
 
-    public static RequestSpecification httpsRequest;
     private final Logger log = LogManager.getLogger(BaseTest.class);
-    Response response;
 
 
     /**
@@ -46,20 +46,27 @@ public class BaseTest extends BaseFramework {
         String platform = Config.getConfigProperty("platform");
         System.setProperty("platform", platform);
         ExtentReportController.startReport();
+        MetricsExporter.start();
         log.info("Platform - {}", platform);
     }
 
     /**
      * Initializes the test. This method is annotated with {@link BeforeMethod} and therefore it will be executed once before each test in the suite is executed.
      * <p>
-     * This method sets the platform property in the system properties, starts a new test using the {@link ExtentReportController}, removes the OTP limit and starts a new
-     * Appium driver instance pointing to the Appium server depending on the platform property.
+     * This method sets the platform property in the system properties, starts a new test using the {@link ExtentReportController}, leases an account
+     * from the {@link AccountLeasePool} and starts a new Appium driver instance pointing to the Appium server depending on the platform property.
+     * A session parked by the previous test runs the test instead, keeping the account leased with it. The
+     * {@link org.roopesh.preconditions.Precondition}s of the test are started before the session is created.
      * <p>
      * If the platform property is set to "android", it starts a new Android Appium driver instance.
      * If the platform property is set to "iOS", it starts a new iOS Appium driver instance.
      * If the platform property is set to "localRun", it starts a new local Appium driver instance.
      * <p>
-     * If the Appium driver instance cannot be created, it asserts the failure and logs the stack trace.
+     * An infrastructure failure of the session creation is retried with backoff by the {@link AutomationRunManager}.
+     * If the Appium driver instance still cannot be created, it asserts the failure and logs the stack trace. While the
+     * session circuit breaker is open after repeated creation failures, the test is skipped without contacting the hub.
+     * Either way the leased account is released right away, as {@link #offload(ITestResult)} does not run after a
+     * failed configuration method.
      *
      * @param os         the platform to run the test on
      * @param methodName the test method
@@ -68,9 +75,25 @@ public class BaseTest extends BaseFramework {
     @Parameters("os")
     @BeforeMethod
     public void initTest(@Optional("android") String os, Method methodName, ITestContext context) throws MalformedURLException, URISyntaxException {
-        TestSessionInfo sessionID = null;
         log.info("Application Loaded");
+        TestMetadata.setCurrent(TestMetadata.of(methodName));
         ExtentReportController.startTest(methodName);
+        String qualifiedName = methodName.getDeclaringClass().getName() + "." + methodName.getName();
+        boolean resumed = SessionReuse.resume(qualifiedName);
+        if (AccountLeasePool.isEnabled() && !(resumed && AccountLeasePool.getInstance().renewCurrent(qualifiedName))) {
+            if (resumed) {
+                AppiumDriverManager.destroyAppiumDriver();
+                resumed = false;
+            }
+            AccountLeasePool.getInstance().acquire(qualifiedName);
+        }
+        PreconditionRunner.start(methodName);
+        if (resumed) {
+            AppiumDriverManager.startTest(methodName.getAnnotation(Test.class).testName());
+            log.info("Test --- {} --- started on session {}", methodName.getAnnotation(Test.class).testName(), AppiumDriverManager.getSessionInfo().getSessionId());
+            return;
+        }
+        boolean created = false;
         try {
             os = System.getProperty("platform");
             switch (os) {
@@ -87,39 +110,79 @@ public class BaseTest extends BaseFramework {
                     //do nothing
 
             }
-            sessionID = AppiumDriverManager.getSessionInfo();
+            AppiumDriverManager.startTest(methodName.getAnnotation(Test.class).testName());
             log.info("Session ID: {}", AppiumDriverManager.getSessionInfo());
             log.info("Test --- {} --- started", methodName.getAnnotation(Test.class).testName());
+            created = true;
         } catch (SessionNotCreatedException se) {
             throw new PageElementException("Please check the session info:", se);
+        } catch (SkipException se) {
+            throw se;
         } catch (Exception e) {
-
-            if (AppiumDriverManager.getSessionInfo() == null) {
-                AppiumDriverManager.setSessionInfo(sessionID);
-                AutomationRunManager.androidBrowserstackDriver(methodName.getAnnotation(Test.class).testName(), context.getSuite().getName());
-            } else {
-                assertFail("Caught Your Exception: " + e.fillInStackTrace().toString());
+            assertFail("Caught Your Exception: " + e.fillInStackTrace().toString());
+        } finally {
+            if (!created) {
+                // offload does not run after a failed configuration method, the account would stay leased until it expires
+                PreconditionRunner.clear();
+                releaseAccount();
             }
         }
     }
 
 
     /**
-     * Cleans up after each test method and after all tests in the class.
+     * Cleans up after each test method.
      * <p>
-     * This method is annotated with {@link AfterMethod} and {@link AfterClass},
-     * ensuring that it is executed after each test method and once after all
-     * tests in the class have been executed.
+     * This method is annotated with {@link AfterMethod}, ensuring that it is executed after each test method.
      * <p>
-     * It deletes the instances associated with the current Appium driver and
-     * destroys the Appium driver to release resources.
+     * It deletes the instances associated with the current Appium driver. When the test is retried on the
+     * same session (see {@link RetryAnalyzer#reusesSession(ITestResult)}), or it passed and
+     * {@code keepSessionBetweenTests} is enabled, and the session is healthy, the session is parked together with
+     * the leased account; otherwise the account is released, the Appium driver is destroyed to release resources and
+     * the backoff of an infrastructure retry is awaited. The {@link TestMetadata} of the test is cleared from the
+     * thread at the end.
+     *
+     * @param result the result of the test method
      */
     @AfterMethod
+    public void offload(ITestResult result) {
+        try {
+            deleteInstances(AppiumDriverManager.driver());
+            PreconditionRunner.clear();
+            if (RetryAnalyzer.reusesSession(result) && SessionReuse.park(result.getMethod().getQualifiedName())) {
+                log.info("Session kept for the retry of {}", result.getName());
+                return;
+            }
+            if (result.isSuccess() && SessionReuse.keepsSessionBetweenTests() && SessionReuse.parkForNextTest()) {
+                log.info("Session kept for the next test of {}", result.getTestClass().getName());
+                return;
+            }
+            releaseAccount();
+            AppiumDriverManager.destroyAppiumDriver();
+            RetryAnalyzer.awaitBackoff(result);
+        } finally {
+            TestMetadata.clearCurrent();
+        }
+    }
+
+    /**
+     * Cleans up after all tests in the class.
+     * <p>
+     * This method is annotated with {@link AfterClass} and destroys any session still open on the thread,
+     * including one parked for a retry or a test that never ran, and releases its account.
+     */
     @AfterClass
-    public void offload() {
+    public void offloadClass() {
+        SessionReuse.release();
+        releaseAccount();
         deleteInstances(AppiumDriverManager.driver());
         AppiumDriverManager.destroyAppiumDriver();
+    }
 
+    private void releaseAccount() {
+        if (AccountLeasePool.isEnabled()) {
+            AccountLeasePool.getInstance().releaseCurrent();
+        }
     }
 
     /**
@@ -133,6 +196,7 @@ public class BaseTest extends BaseFramework {
     @AfterSuite
     public void tearDown() {
         ExtentReportController.flushReport();
+        MetricsExporter.stop();
     }
 
 
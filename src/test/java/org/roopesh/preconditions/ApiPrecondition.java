@@ -0,0 +1,22 @@
+package org.roopesh.preconditions;
+
+import io.restassured.specification.RequestSpecification;
+import org.roopesh.accounts.TestAccount;
+
+/**
+ * A piece of backend state created for a test, e.g. funds or a watchlist.
+ *
+ * @param <T> the type of the value handed to the test
+ */
+@FunctionalInterface
+public interface ApiPrecondition<T> {
+
+    /**
+     * Creates the state. Runs on a thread of the {@link PreconditionRunner}, not on the thread of the test.
+     *
+     * @param request the request to send, bound to the precondition API
+     * @param account the account leased by the test, or null if accounts are not leased
+     * @return the value handed to the test
+     */
+    T create(RequestSpecification request, TestAccount account);
+}
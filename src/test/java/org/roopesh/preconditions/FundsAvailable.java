@@ -0,0 +1,25 @@
+package org.roopesh.preconditions;
+
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.roopesh.accounts.TestAccount;
+import org.roopesh.config.Config;
+import org.roopesh.config.Config.ConfigProperty;
+import utilities.otp.OTPUnblocker;
+
+/**
+ * Reads the funds of the account of the test, failing if the funds API does not answer.
+ */
+public class FundsAvailable implements ApiPrecondition<JsonPath> {
+
+    @Override
+    public JsonPath create(RequestSpecification request, TestAccount account) {
+        String clientID = account == null ? Config.getConfigProperty(ConfigProperty.ACCOUNT_ID) : account.clientID();
+        Response response = request.queryParam("fy_id", clientID).get(OTPUnblocker.Funds());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Funds of " + clientID + " returned " + response.statusCode());
+        }
+        return response.jsonPath();
+    }
+}
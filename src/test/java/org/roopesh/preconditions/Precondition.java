@@ -0,0 +1,24 @@
+package org.roopesh.preconditions;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the backend state a test needs, created through the APIs instead of the UI.
+ * <p>
+ * The preconditions are started in parallel by {@link org.roopesh.BaseTest} before the session is created, and
+ * the test waits on each one with {@link PreconditionRunner#await(Class)} just before it uses it.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Precondition {
+
+    /**
+     * The preconditions of the test.
+     *
+     * @return the precondition classes, each with a no-argument constructor
+     */
+    Class<? extends ApiPrecondition<?>>[] value();
+}
@@ -0,0 +1,55 @@
+package org.roopesh.preconditions;
+
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.params.CoreConnectionPNames;
+
+/**
+ * RestAssured client of the precondition APIs.
+ * <p>
+ * Every request goes through one HTTP client with a pooled, keep-alive connection manager, so the preconditions
+ * running in parallel reuse their connections instead of opening one per request.
+ */
+final class PreconditionClient {
+    private final RequestSpecification specification;
+
+    /**
+     * Creates a client of the service at the given base URI, e.g. a local stub.
+     *
+     * @param baseUri        the base URI of the service
+     * @param maxConnections the size of the connection pool
+     * @param timeoutMillis  the connection and socket timeout
+     */
+    @SuppressWarnings("deprecation")
+    PreconditionClient(String baseUri, int maxConnections, int timeoutMillis) {
+        PoolingClientConnectionManager connectionManager = new PoolingClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+        HttpClientConfig httpClientConfig = HttpClientConfig.httpClientConfig()
+                .reuseHttpClientInstance()
+                .httpClientFactory(() -> new DefaultHttpClient(connectionManager))
+                .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, timeoutMillis)
+                .setParam(CoreConnectionPNames.SO_TIMEOUT, timeoutMillis);
+        specification = new RequestSpecBuilder()
+                .setBaseUri(baseUri)
+                .setContentType(ContentType.JSON)
+                .setAccept(ContentType.JSON)
+                .setConfig(RestAssuredConfig.config().httpClient(httpClientConfig))
+                .build();
+    }
+
+    /**
+     * Returns a new request bound to the service. Requests are not thread safe, every precondition gets its own.
+     *
+     * @return the request
+     */
+    RequestSpecification request() {
+        return RestAssured.given().spec(specification);
+    }
+}
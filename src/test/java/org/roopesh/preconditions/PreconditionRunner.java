@@ -0,0 +1,120 @@
+package org.roopesh.preconditions;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.roopesh.accounts.AccountLeasePool;
+import org.roopesh.accounts.TestAccount;
+import org.roopesh.config.Config;
+import org.roopesh.config.Config.ConfigProperty;
+import org.testng.SkipException;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the {@link Precondition}s of the tests on a shared pool of threads.
+ * <p>
+ * {@link #start(Method)} submits every precondition of the test at once and returns; the test joins each one with
+ * {@link #await(Class)} right before it needs it, so the API calls overlap the session creation and the first UI
+ * steps. A precondition that fails skips the test.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PreconditionRunner {
+    private static final Logger log = LogManager.getLogger(PreconditionRunner.class);
+    private static final ThreadLocal<Map<Class<?>, CompletableFuture<?>>> PENDING = ThreadLocal.withInitial(HashMap::new);
+    private static volatile PreconditionClient stubClient;
+
+    /**
+     * Starts the preconditions declared on the test method, if any. Preconditions left by the previous test of the
+     * thread are cancelled.
+     *
+     * @param method the test method
+     */
+    public static void start(Method method) {
+        clear();
+        Precondition precondition = method.getAnnotation(Precondition.class);
+        if (precondition == null) {
+            return;
+        }
+        TestAccount account = AccountLeasePool.current();
+        PreconditionClient client = stubClient == null ? LazyHolder.CLIENT : stubClient;
+        Map<Class<?>, CompletableFuture<?>> pending = PENDING.get();
+        for (Class<? extends ApiPrecondition<?>> type : precondition.value()) {
+            pending.put(type, CompletableFuture.supplyAsync(() -> create(type, client, account), LazyHolder.EXECUTOR));
+        }
+        log.info("Started {} preconditions of {}", pending.size(), method.getName());
+    }
+
+    /**
+     * Waits for a precondition of the current test and returns its value.
+     *
+     * @param type the precondition class, as declared in {@link Precondition}
+     * @param <T>  the type of the value of the precondition
+     * @return the value created by the precondition
+     * @throws IllegalStateException if the precondition is not declared on the test
+     * @throws SkipException         if the precondition failed
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T await(Class<? extends ApiPrecondition<T>> type) {
+        CompletableFuture<?> future = PENDING.get().get(type);
+        if (future == null) {
+            throw new IllegalStateException(type.getSimpleName() + " is not a @Precondition of the test");
+        }
+        try {
+            return (T) future.join();
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = e.getCause() == null ? e : e.getCause();
+            throw new SkipException("Skipped due to precondition " + type.getSimpleName() + ": " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Cancels the preconditions of the current thread that are still running and forgets them.
+     */
+    public static void clear() {
+        PENDING.get().values().forEach(future -> future.cancel(false));
+        PENDING.remove();
+    }
+
+    /**
+     * Sends the preconditions started from now on to the given client instead of the {@code APIBASEURL} service.
+     *
+     * @param client the client of a local stub, or null to use the {@code APIBASEURL} service again
+     */
+    static void useClient(PreconditionClient client) {
+        stubClient = client;
+    }
+
+    private static Object create(Class<? extends ApiPrecondition<?>> type, PreconditionClient client, TestAccount account) {
+        long startNanos = System.nanoTime();
+        try {
+            ApiPrecondition<?> precondition = type.getDeclaredConstructor().newInstance();
+            Object value = precondition.create(client.request(), account);
+            log.debug("Precondition {} created in {} ms", type.getSimpleName(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            return value;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create the precondition " + type.getName(), e);
+        }
+    }
+
+    private static final class LazyHolder {
+        private static final int THREADS = Integer.parseInt(Config.getConfigProperty(ConfigProperty.PRECONDITION_THREADS).trim());
+        private static final PreconditionClient CLIENT = new PreconditionClient(
+                Config.getConfigProperty(ConfigProperty.API_BASE_URL).trim(), THREADS,
+                (int) TimeUnit.SECONDS.toMillis(Long.parseLong(Config.getConfigProperty(ConfigProperty.PRECONDITION_TIMEOUT_SECONDS).trim())));
+        private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "precondition");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,75 @@
+package org.roopesh.preconditions;
+
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.path.json.JsonPath;
+import org.roopesh.config.Config;
+import org.roopesh.config.Config.ConfigProperty;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import utilities.otp.OTPUnblocker;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Runs the preconditions of a test against a local stub of the funds API.
+ */
+public class PreconditionRunnerTest {
+    private HttpServer server;
+    private volatile int fundsStatus;
+
+    @BeforeClass
+    public void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext(OTPUnblocker.Funds(), exchange -> {
+            byte[] body = ("{\"query\":\"" + exchange.getRequestURI().getQuery() + "\",\"balance\":100}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(fundsStatus, body.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(body);
+            }
+        });
+        server.start();
+        PreconditionRunner.useClient(new PreconditionClient("http://127.0.0.1:" + server.getAddress().getPort(), 2, 5000));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopStub() {
+        PreconditionRunner.clear();
+        PreconditionRunner.useClient(null);
+        server.stop(0);
+    }
+
+    @Test
+    @Precondition(FundsAvailable.class)
+    public void awaitReturnsTheValueOfThePrecondition(Method method) {
+        fundsStatus = 200;
+        PreconditionRunner.start(method);
+        JsonPath funds = PreconditionRunner.await(FundsAvailable.class);
+        Assert.assertEquals(funds.getInt("balance"), 100);
+        Assert.assertEquals(funds.getString("query"), "fy_id=" + Config.getConfigProperty(ConfigProperty.ACCOUNT_ID));
+    }
+
+    @Test
+    @Precondition(FundsAvailable.class)
+    public void failedPreconditionSkipsTheTest(Method method) {
+        fundsStatus = 503;
+        PreconditionRunner.start(method);
+        SkipException skip = Assert.expectThrows(SkipException.class, () -> PreconditionRunner.await(FundsAvailable.class));
+        Assert.assertTrue(skip.getMessage().contains("FundsAvailable"), skip.getMessage());
+        Assert.assertTrue(skip.getMessage().contains("503"), skip.getMessage());
+    }
+
+    @Test
+    public void awaitFailsForAnUndeclaredPrecondition(Method method) {
+        PreconditionRunner.start(method);
+        Assert.expectThrows(IllegalStateException.class, () -> PreconditionRunner.await(FundsAvailable.class));
+    }
+}
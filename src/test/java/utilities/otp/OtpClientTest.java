@@ -0,0 +1,64 @@
+package utilities.otp;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Calls the OTP endpoints of a local stub.
+ */
+public class OtpClientTest {
+    private HttpServer server;
+    private OtpClient client;
+
+    @BeforeClass
+    public void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext(OTPUnblocker.SendLoxginOTP(), exchange -> respond(exchange, 200,
+                "{\"s\":\"ok\",\"code\":\"200\",\"message\":\"otp sent\",\"request_key\":\"stub-key\"}"));
+        server.createContext(OTPUnblocker.OTPUnblock().substring(0, OTPUnblocker.OTPUnblock().indexOf('?')),
+                exchange -> respond(exchange, 400, "{\"s\":\"error\",\"message\":\"invalid fy_id\"}"));
+        server.start();
+        client = new OtpClient(URI.create("http://127.0.0.1:" + server.getAddress().getPort()), Duration.ofSeconds(5));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    public void sendLoginOtpReturnsTheRequestKey() {
+        OTPResponse response = client.sendLoginOtp("XS02150").join();
+        Assert.assertEquals(response.requestKey, "stub-key");
+        Assert.assertEquals(response.code, "200");
+    }
+
+    @Test
+    public void non2xxResponseCompletesWithAnIOException() {
+        CompletionException failure = Assert.expectThrows(CompletionException.class, () -> client.unblock("XS02150").join());
+        Assert.assertTrue(failure.getCause() instanceof IOException, String.valueOf(failure.getCause()));
+        Assert.assertTrue(failure.getCause().getMessage().contains("400"), failure.getCause().getMessage());
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(body);
+        }
+    }
+}